@@ -0,0 +1,45 @@
+#!/bin/sh
+# AppCDS archive for faster cold start.
+#   1. training run: start the UI, exit right after the first frame, dump the loaded classes
+#   2. time-to-first-frame without and with the archive
+# Needs a display (the UI has to open its window) and a JDK 13+.
+# HEADLESS=1 scripts/appcds.sh  times org.example.StartupProbe instead: the board painted offscreen,
+# no window. A lower bound for the real first frame, for boxes without a display.
+#
+# Builds org.example only (GameUI, its board and models), which compiles on its own.
+# The classic UI (MAIN=Main) cannot be built from this tree yet: its GameUI class lives in
+# src/SoundPlayer.java and the SoundPlayer sound helper itself is missing.
+set -e
+cd "$(dirname "$0")/.."
+
+MAIN=${MAIN:-org.example.GameUI}
+OUT=out/cds
+RUNS=${RUNS:-3}
+
+if [ -n "$HEADLESS" ]; then
+    MAIN=org.example.StartupProbe
+elif [ "$MAIN" != "org.example.GameUI" ]; then
+    echo "only MAIN=org.example.GameUI can be built from this tree (see the header)" >&2
+    exit 2
+fi
+if [ -z "$HEADLESS" ] && [ "$(uname)" = "Linux" ] && [ -z "$DISPLAY" ] && [ -z "$WAYLAND_DISPLAY" ]; then
+    echo "no display: the training run and the timings need a window (HEADLESS=1 for the offscreen probe)" >&2
+    exit 2
+fi
+
+rm -rf "$OUT"
+mkdir -p "$OUT/classes"
+javac -encoding UTF-8 -d "$OUT/classes" $(grep -l '^package org.example;' src/*.java) src/org/example/*.java
+# CDS only archives classes from jars, a class directory on the class path is refused
+jar cf "$OUT/app.jar" -C "$OUT/classes" .
+
+java -XX:ArchiveClassesAtExit="$OUT/app.jsa" -Dladder.exitAfterFirstFrame=true \
+     -cp "$OUT/app.jar" "$MAIN"
+
+for i in $(seq "$RUNS"); do
+    printf 'without archive: '
+    java -Dladder.startupTiming=true -Dladder.exitAfterFirstFrame=true -cp "$OUT/app.jar" "$MAIN"
+    printf 'with archive:    '
+    java -XX:SharedArchiveFile="$OUT/app.jsa" -Dladder.startupTiming=true -Dladder.exitAfterFirstFrame=true \
+         -cp "$OUT/app.jar" "$MAIN"
+done
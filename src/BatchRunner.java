@@ -0,0 +1,115 @@
+import org.example.LogHistogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Headless batch mode: generates boards, plays games with HeadlessGame and streams one result per game.
+ * Never touches AWT/Swing, so it runs on display-less machines.
+ *
+ * Usage: --batch [--games N] [--players 2,3,4] [--seed S] [--board-seed S] [--format csv|ndjson] [--out file]
+ *                [--store dir]   also append every result to a ResultStore
+ *                [--rules spec]  rule variant, see RuleConfig (default: the GameUI rules)
+ *                [--histograms file]  game length / ns per game as LogHistogram base64, one "name data" per line
+ * A percentile summary of both goes to stderr.
+ */
+public class BatchRunner {
+
+    public static final String USAGE =
+            "usage: --batch [--games N] [--players 2,3,4] [--seed S] [--board-seed S] [--format csv|ndjson] [--out file]"
+                    + " [--store dir] [--rules spec] [--histograms file]";
+
+    public static int run(String[] args) {
+        long games = 1000;
+        List<Integer> playerCounts = new ArrayList<>(List.of(2));
+        long seed = System.nanoTime();
+        Long boardSeed = null; // null = new board per game (from the game seed)
+        ResultWriter.Format format = ResultWriter.Format.CSV;
+        String out = null;
+        String storeDir = null;
+        RuleConfig rules = RuleConfig.DEFAULT;
+        String histogramFile = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String a = args[i];
+                if (i + 1 >= args.length) throw new IllegalArgumentException("missing value for " + a);
+                String v = args[++i];
+                switch (a) {
+                    case "--games": games = Long.parseLong(v); break;
+                    case "--seed": seed = Long.parseLong(v); break;
+                    case "--board-seed": boardSeed = Long.parseLong(v); break;
+                    case "--out": out = v; break;
+                    case "--store": storeDir = v; break;
+                    case "--rules": rules = RuleConfig.parse(v); break;
+                    case "--histograms": histogramFile = v; break;
+                    case "--format": format = ResultWriter.Format.valueOf(v.toUpperCase()); break;
+                    case "--players":
+                        playerCounts.clear();
+                        for (String s : v.split(",")) {
+                            int n = Integer.parseInt(s.trim());
+                            if (n < 1 || n > 6) throw new IllegalArgumentException("players must be 1..6");
+                            playerCounts.add(n);
+                        }
+                        break;
+                    default: throw new IllegalArgumentException("unknown option " + a);
+                }
+            }
+        } catch (IllegalArgumentException e) { // includes NumberFormatException
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        BoardGraph fixedBoard = boardSeed == null ? null : new BoardGraph(new Random(boardSeed));
+        CompiledRules fixedRules = fixedBoard == null ? null : rules.compile(fixedBoard);
+        Map<Integer, HeadlessGame> fixedGames = new HashMap<>();
+
+        LogHistogram turns = new LogHistogram(HeadlessGame.MAX_TURNS, 8);
+        LogHistogram gameNanos = new LogHistogram(60_000_000_000L, 8);
+
+        try (ResultWriter writer = ResultWriter.open(out, format);
+             ResultStore store = storeDir == null ? null : ResultStore.open(Path.of(storeDir))) {
+            writer.writeHeader();
+            long game = 0;
+            for (int players : playerCounts) {
+                for (long i = 0; i < games; i++, game++) {
+                    // consecutive seeds give near-identical first draws from java.util.Random, so mix them
+                    long gameSeed = new SplittableRandom(seed + game).nextLong();
+                    BoardGraph graph;
+                    HeadlessGame hg;
+                    if (fixedBoard != null) {
+                        graph = fixedBoard;
+                        hg = fixedGames.computeIfAbsent(players, n -> new HeadlessGame(fixedRules, n));
+                    } else {
+                        graph = new BoardGraph(new Random(gameSeed));
+                        hg = new HeadlessGame(rules.compile(graph), players);
+                    }
+                    long start = System.nanoTime();
+                    GameResult r = hg.play(gameSeed);
+                    gameNanos.record(System.nanoTime() - start);
+                    turns.record(r.turns);
+                    writer.write(game, fixedBoard != null ? boardSeed : gameSeed, r, graph.randomLinks);
+                    if (store != null) store.append(graph.fingerprint(), System.currentTimeMillis(), r);
+                }
+            }
+            if (histogramFile != null) {
+                Files.writeString(Path.of(histogramFile),
+                        "turns " + turns.toBase64() + "\ngame_ns " + gameNanos.toBase64() + "\n");
+            }
+        } catch (IOException e) {
+            System.err.println("write failed: " + e.getMessage());
+            return 1;
+        }
+        System.err.println("turns:   " + turns.summary());
+        System.err.println("ns/game: " + gameNanos.summary());
+        return 0;
+    }
+}
@@ -0,0 +1,62 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Serial vs parallel BFS on large chain+links boards, for 1, 2, 4, ... threads and then all cores.
+ * Each board gets n/8 random links (a plain chain has n levels of one node, nothing to parallelize).
+ *
+ * java -Xmx4g BfsBenchmark [n ...]      default: 100000 1000000 10000000
+ */
+public class BfsBenchmark {
+
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0
+                ? new int[]{100_000, 1_000_000, 10_000_000}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (int n : sizes) {
+            CsrGraph g = CsrGraph.chainWithLinks(n, n / 8, new Random(n));
+            int[] expected = ParallelBfs.serialDistances(g, n);
+            int[] expectedParents = ParallelBfs.parents(g, expected);
+
+            long serial = median(() -> ParallelBfs.serialDistances(g, n));
+            System.out.printf("n=%,d  serial %.1f ms%n", n, serial / 1e6);
+
+            for (int threads : threadCounts(cores)) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                int[] got = ParallelBfs.distances(g, n, pool);
+                if (!Arrays.equals(expected, got) || !Arrays.equals(expectedParents, ParallelBfs.parents(g, got, pool))) {
+                    throw new IllegalStateException("parallel BFS differs from serial at n=" + n);
+                }
+                long t = median(() -> ParallelBfs.distances(g, n, pool));
+                System.out.printf("  %2d threads %8.1f ms  speedup %.2fx%n", threads, t / 1e6, (double) serial / t);
+                pool.shutdown();
+            }
+        }
+    }
+
+    /** 1, 2, 4, ... below cores, then cores itself: always ends with all cores. */
+    static int[] threadCounts(int cores) {
+        int[] counts = new int[32];
+        int k = 0;
+        for (int t = 1; t < cores; t *= 2) counts[k++] = t;
+        counts[k++] = cores;
+        return Arrays.copyOf(counts, k);
+    }
+
+    private static long median(Runnable r) {
+        r.run(); // warm-up
+        long[] t = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            r.run();
+            t[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(t);
+        return t[RUNS / 2];
+    }
+}
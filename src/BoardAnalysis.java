@@ -0,0 +1,106 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Everything derived from a board's link set alone: the shortest-path tree towards the last node,
+ * the prime-start routes and the expected length of a solo game under the default rules.
+ *
+ * Everything comes from one BFS from the last node (BoardGraph.distancesTo / stepsTowards, parallel on
+ * large boards), and its ties go to the lowest-numbered neighbour, so two boards with the same link
+ * set get identical routes whatever order their links were added in. Immutable; shared through
+ * BoardAnalysisCache.
+ */
+public class BoardAnalysis {
+
+    static final int FORMAT = 4; // 2: expectedTurns from DiceSource rolls, 3: cache files carry a CRC32, 4: lowest-neighbour routes
+    static final int SAMPLE_GAMES = 2000;
+
+    public final long fingerprint;
+    public final int n;
+    final long[] linkKeys;
+    public final int[] distToTarget;    // edges to n, -1 = unreachable
+    public final int[] nextHop;         // one step closer to n, -1 = none
+    final int[][] primeRoutes;          // prime pos -> shortest path pos..n, null for other nodes
+    public final double expectedTurns;  // mean rolls for one player to reach n, default rules
+
+    private BoardAnalysis(long fingerprint, int n, long[] linkKeys, int[] distToTarget, int[] nextHop,
+                          int[][] primeRoutes, double expectedTurns) {
+        this.fingerprint = fingerprint;
+        this.n = n;
+        this.linkKeys = linkKeys;
+        this.distToTarget = distToTarget;
+        this.nextHop = nextHop;
+        this.primeRoutes = primeRoutes;
+        this.expectedTurns = expectedTurns;
+    }
+
+    public static BoardAnalysis compute(BoardGraph graph) {
+        int n = graph.N;
+        long[] keys = graph.linkKeys();
+        int[] dist = graph.distancesTo(n);
+        int[] next = graph.stepsTowards(dist);
+        int[][] routes = new int[n + 1][];
+        for (int v = 1; v <= n; v++) {
+            if (BoardGraph.isPrime(v)) routes[v] = RuleConfig.toArray(BoardGraph.walk(next, v, n));
+        }
+
+        // fixed sample seeded by the board, so the number is the same every time it is recomputed
+        HeadlessGame solo = new HeadlessGame(new CompiledRules(RuleConfig.DEFAULT, n, routes), 1);
+        SplittableRandom seeds = new SplittableRandom(graph.fingerprint());
+        long turns = 0;
+        for (int i = 0; i < SAMPLE_GAMES; i++) {
+            long s = seeds.nextLong();
+            turns += solo.play(s).turns;
+        }
+        return new BoardAnalysis(graph.fingerprint(), n, keys, dist, next, routes, (double) turns / SAMPLE_GAMES);
+    }
+
+    /** Guards against fingerprint collisions. */
+    boolean describes(int n, long[] linkKeys) {
+        return this.n == n && Arrays.equals(this.linkKeys, linkKeys);
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeInt(FORMAT);
+        out.writeLong(fingerprint);
+        out.writeInt(n);
+        out.writeInt(linkKeys.length);
+        for (long k : linkKeys) out.writeLong(k);
+        for (int v = 1; v <= n; v++) {
+            out.writeInt(distToTarget[v]);
+            out.writeInt(nextHop[v]);
+            int[] r = primeRoutes[v];
+            out.writeInt(r == null ? -1 : r.length);
+            if (r != null) for (int x : r) out.writeInt(x);
+        }
+        out.writeDouble(expectedTurns);
+    }
+
+    /** size = bytes available (the file size): every length read is checked against it before allocating. */
+    static BoardAnalysis read(DataInput in, long size) throws IOException {
+        if (in.readInt() != FORMAT) throw new IOException("unknown board analysis format");
+        long fingerprint = in.readLong();
+        int n = in.readInt();
+        if (n < 2 || (n + 1L) * 12 > size) throw new IOException("corrupt board analysis: n=" + n);
+        int keyCount = in.readInt();
+        if (keyCount < 0 || keyCount * 8L > size) throw new IOException("corrupt board analysis: " + keyCount + " links");
+        long[] keys = new long[keyCount];
+        for (int i = 0; i < keys.length; i++) keys[i] = in.readLong();
+        int[] dist = new int[n + 1], next = new int[n + 1];
+        int[][] routes = new int[n + 1][];
+        for (int v = 1; v <= n; v++) {
+            dist[v] = in.readInt();
+            next[v] = in.readInt();
+            int len = in.readInt();
+            if (len > n) throw new IOException("corrupt board analysis: route of " + len);
+            if (len >= 0) {
+                routes[v] = new int[len];
+                for (int i = 0; i < len; i++) routes[v][i] = in.readInt();
+            }
+        }
+        return new BoardAnalysis(fingerprint, n, keys, dist, next, routes, in.readDouble());
+    }
+}
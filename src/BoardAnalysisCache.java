@@ -0,0 +1,200 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * BoardAnalysis by board fingerprint: an LRU of at most maxEntries in memory, backed by an optional
+ * directory of one file per board that survives across sessions. Thread-safe; two threads missing
+ * on the same board may both compute it, the second result is dropped.
+ *
+ * Disk files end in a CRC32 of the rest, so a torn or damaged file is a miss, never a wrong answer.
+ * The disk tier is bounded too: every PRUNE_EVERY stores the directory is counted and, above
+ * maxDiskEntries, the least recently used files (a disk hit refreshes the file's mtime) are deleted
+ * down to 90%; so it holds at most maxDiskEntries + PRUNE_EVERY files.
+ *
+ * The shared instance keeps 256 boards and uses -Dladder.analysisCache=dir as its disk tier.
+ */
+public class BoardAnalysisCache {
+
+    private static final BoardAnalysisCache SHARED = new BoardAnalysisCache(256,
+            System.getProperty("ladder.analysisCache") == null ? null : Path.of(System.getProperty("ladder.analysisCache")));
+
+    public static final int DEFAULT_DISK_ENTRIES = 16_384; // ~1-2 KB each on an 8x8 board
+    static final int PRUNE_EVERY = 256;
+    static final long MAX_FILE_BYTES = 64 << 20; // far above any real board; larger = damaged
+
+    private final int maxEntries;
+    private final Path diskDir;
+    private final int maxDiskEntries;
+    private final LinkedHashMap<Long, BoardAnalysis> entries;
+    private final AtomicInteger stores = new AtomicInteger();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private long hits, diskHits, misses;
+
+    public BoardAnalysisCache(int maxEntries, Path diskDir) {
+        this(maxEntries, diskDir, DEFAULT_DISK_ENTRIES);
+    }
+
+    public BoardAnalysisCache(int maxEntries, Path diskDir, int maxDiskEntries) {
+        this.maxEntries = maxEntries;
+        this.diskDir = diskDir;
+        this.maxDiskEntries = maxDiskEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BoardAnalysis> eldest) {
+                return size() > BoardAnalysisCache.this.maxEntries;
+            }
+        };
+    }
+
+    public static BoardAnalysisCache shared() {
+        return SHARED;
+    }
+
+    public BoardAnalysis get(BoardGraph graph) {
+        long fp = graph.fingerprint();
+        long[] keys = graph.linkKeys();
+        synchronized (this) {
+            BoardAnalysis a = entries.get(fp);
+            if (a != null && a.describes(graph.N, keys)) {
+                hits++;
+                return a;
+            }
+        }
+
+        BoardAnalysis a = load(fp, graph.N, keys);
+        boolean fromDisk = a != null;
+        if (a == null) {
+            a = BoardAnalysis.compute(graph);
+            store(a);
+        }
+        synchronized (this) {
+            if (fromDisk) diskHits++;
+            else misses++;
+            entries.put(fp, a);
+        }
+        return a;
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long diskHits() {
+        return diskHits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return hits + " hits, " + diskHits + " from disk, " + misses + " computed, " + entries.size() + " in memory";
+    }
+
+    private Path file(long fp) {
+        String hex = String.format("%016x", fp);
+        return diskDir.resolve(hex.substring(0, 2)).resolve(hex.substring(2) + ".board");
+    }
+
+    // disk tier is best effort: unreadable, truncated, corrupt or colliding files count as a miss
+    // (and are overwritten by the recomputed entry), failed writes are skipped
+
+    private BoardAnalysis load(long fp, int n, long[] keys) {
+        if (diskDir == null) return null;
+        Path f = file(fp);
+        if (!Files.exists(f)) return null;
+        try {
+            long size = Files.size(f);
+            if (size < 8 || size > MAX_FILE_BYTES) return null;
+            byte[] bytes = Files.readAllBytes(f);
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length - 8);
+            if (crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - 8, 8).getLong()) return null; // torn or damaged
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 8));
+            BoardAnalysis a = BoardAnalysis.read(in, bytes.length - 8);
+            if (!a.describes(n, keys)) return null;
+            Files.setLastModifiedTime(f, FileTime.fromMillis(System.currentTimeMillis())); // recently used
+            return a;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void store(BoardAnalysis a) {
+        if (diskDir == null) return;
+        Path f = file(a.fingerprint);
+        try {
+            Files.createDirectories(f.getParent());
+            Path tmp = Files.createTempFile(f.getParent(), "board", ".tmp");
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                a.write(new DataOutputStream(bytes));
+                CRC32 crc = new CRC32();
+                crc.update(bytes.toByteArray());
+                new DataOutputStream(bytes).writeLong(crc.getValue());
+                Files.write(tmp, bytes.toByteArray());
+                Files.move(tmp, f, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp); // only still there if the write or the move failed
+            }
+        } catch (IOException ignored) {
+        }
+        if (stores.incrementAndGet() % PRUNE_EVERY == 0) prune();
+    }
+
+    /** Deletes the least recently used board files above maxDiskEntries, down to 90% of it. */
+    void prune() {
+        if (!pruning.compareAndSet(false, true)) return; // another thread is at it; gets() never wait on this
+        try {
+            pruneNow();
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    private void pruneNow() {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(diskDir, 2)) {
+            files = walk.filter(p -> p.toString().endsWith(".board")).collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            return;
+        }
+        if (files.size() <= maxDiskEntries) return;
+        Map<Path, Long> mtime = new HashMap<>();
+        for (Path p : files) {
+            try {
+                mtime.put(p, Files.getLastModifiedTime(p).toMillis());
+            } catch (IOException e) {
+                mtime.put(p, 0L);
+            }
+        }
+        files.sort(Comparator.comparingLong(mtime::get));
+        int excess = files.size() - maxDiskEntries * 9 / 10;
+        for (int i = 0; i < excess; i++) {
+            try {
+                Files.deleteIfExists(files.get(i));
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
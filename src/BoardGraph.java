@@ -1,14 +1,41 @@
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 public class BoardGraph {
-    public final int N = 64;
+    public final int N;
 
-    public final int[][] adjMatrix; // adjacency matrix input
+    public final int[][] adjMatrix; // adjacency matrix input, null past MATRIX_MAX_NODES (adjList has the same edges)
     public final Map<Integer, Set<Integer>> adjList; // for BFS shortest path
-    public final List<int[]> randomLinks; // 5 random links {a,b}
+    public final List<int[]> randomLinks; // random links {a,b}, 5 on the default board
+
+    // distance / next hop towards N, built on first use and then repaired on every edge change
+    private static final int INF = Integer.MAX_VALUE;
+    private int[] distToTarget;
+    private int[] nextHop;
+    private int[] mark;
+    private int markStamp;
+
+    // (N+1)^2 ints is 16 MB at 2048 nodes; bigger boards (BFS benchmarks, analysis) go without
+    public static final int MATRIX_MAX_NODES = 2048;
+    // from here on a BFS runs on ParallelBfs (one of its leaf tasks covers 16k nodes), given the
+    // common pool has more than one thread; on one it is slower than the plain queue BFS
+    static final int PARALLEL_BFS_NODES = 1 << 15;
+    private CsrGraph csr; // adjacency snapshot for ParallelBfs, dropped on every edge change
 
     public BoardGraph() {
-        adjMatrix = new int[N + 1][N + 1];
+        this(new Random());
+    }
+
+    /** Random links drawn from rnd (same seed -> same board). */
+    public BoardGraph(Random rnd) {
+        this(64, 5, rnd);
+    }
+
+    /** Chain 1..n plus linkCount random links, for sweeps over other board shapes. */
+    public BoardGraph(int n, int linkCount, Random rnd) {
+        if (n < 2) throw new IllegalArgumentException("board needs at least 2 nodes");
+        N = n;
+        adjMatrix = N <= MATRIX_MAX_NODES ? new int[N + 1][N + 1] : null;
         adjList = new HashMap<>();
         for (int i = 1; i <= N; i++) adjList.put(i, new LinkedHashSet<>());
 
@@ -16,78 +43,291 @@ public class BoardGraph {
         for (int i = 1; i < N; i++) addEdge(i, i + 1);
 
         randomLinks = new ArrayList<>();
-        addFiveRandomLinks();
+        addRandomLinks(linkCount, rnd);
     }
 
     public void addEdge(int a, int b) {
         if (a < 1 || a > N || b < 1 || b > N || a == b) return;
-        adjMatrix[a][b] = 1;
-        adjMatrix[b][a] = 1;
+        if (adjMatrix != null) {
+            adjMatrix[a][b] = 1;
+            adjMatrix[b][a] = 1;
+        }
         adjList.get(a).add(b);
         adjList.get(b).add(a);
+        csr = null;
+
+        if (distToTarget != null) {
+            relaxFrom(a, b);
+            relaxFrom(b, a);
+        }
+    }
+
+    public void removeEdge(int a, int b) {
+        if (a < 1 || a > N || b < 1 || b > N || !adjList.get(a).contains(b)) return;
+        if (adjMatrix != null) {
+            adjMatrix[a][b] = 0;
+            adjMatrix[b][a] = 0;
+        }
+        adjList.get(a).remove(b);
+        adjList.get(b).remove(a);
+        csr = null;
+
+        if (distToTarget != null) {
+            if (nextHop[a] == b) repairAfterCut(a);
+            else if (nextHop[b] == a) repairAfterCut(b);
+        }
+    }
+
+    /** Snake/ladder that appears mid-game. False if a == b or the two nodes are already connected. */
+    public boolean addLink(int a, int b) {
+        if (a < 1 || a > N || b < 1 || b > N) {
+            throw new IllegalArgumentException("link " + a + " <-> " + b + " outside 1.." + N);
+        }
+        if (a == b || adjList.get(a).contains(b)) return false;
+        addEdge(a, b);
+        randomLinks.add(new int[]{a, b});
+        return true;
+    }
+
+    /** Snake/ladder that vanishes mid-game (default i <-> i+1 edges stay). */
+    public void removeLink(int a, int b) {
+        for (Iterator<int[]> it = randomLinks.iterator(); it.hasNext(); ) {
+            int[] p = it.next();
+            if ((p[0] == a && p[1] == b) || (p[0] == b && p[1] == a)) {
+                it.remove();
+                removeEdge(a, b);
+                return;
+            }
+        }
     }
 
     public void addFiveRandomLinks() {
-        Random rnd = new Random();
+        addFiveRandomLinks(new Random());
+    }
+
+    public void addFiveRandomLinks(Random rnd) {
+        addRandomLinks(5, rnd);
+    }
+
+    /** Adds links until there are `count` (fewer if the board runs out of non-adjacent pairs). */
+    public void addRandomLinks(int count, Random rnd) {
         int attempts = 0;
 
-        while (randomLinks.size() < 5 && attempts < 10_000) {
+        while (randomLinks.size() < count && attempts < 10_000 + 100 * count) {
             attempts++;
             int a = 1 + rnd.nextInt(N);
             int b = 1 + rnd.nextInt(N);
             if (a == b) continue;
             if (Math.abs(a - b) == 1) continue; // biar nggak membosankan (optional)
 
-            int min = Math.min(a, b), max = Math.max(a, b);
-            boolean already = false;
-            for (int[] p : randomLinks) {
-                int pmin = Math.min(p[0], p[1]);
-                int pmax = Math.max(p[0], p[1]);
-                if (pmin == min && pmax == max) { already = true; break; }
-            }
-            if (already) continue;
+            if (adjList.get(a).contains(b)) continue; // already linked (chain pairs were skipped above)
 
             addEdge(a, b);
             randomLinks.add(new int[]{a, b});
         }
     }
 
-    /** BFS shortest path (unweighted) */
+    /** Canonical id of the board: same N and link set (any order, either direction) -> same value. */
+    public long fingerprint() {
+        long h = mix64(N);
+        for (long k : linkKeys()) h = mix64(h ^ k);
+        return h;
+    }
+
+    /** The link set in canonical form: (min << 32 | max) per link, sorted. */
+    public long[] linkKeys() {
+        long[] keys = new long[randomLinks.size()];
+        for (int i = 0; i < keys.length; i++) {
+            int[] p = randomLinks.get(i);
+            keys[i] = ((long) Math.min(p[0], p[1]) << 32) | Math.max(p[0], p[1]);
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * BFS shortest path (unweighted). Ties go the way ParallelBfs.parents breaks them: from start,
+     * always on to the lowest-numbered neighbour one edge closer to target. So the path depends only
+     * on the edge set, not on link insertion order or on whether the BFS ran in parallel.
+     */
     public List<Integer> shortestPath(int start, int target) {
         if (start == target) return List.of(start);
+        return walk(stepsTowards(distancesTo(target)), start, target);
+    }
 
-        boolean[] vis = new boolean[N + 1];
-        int[] parent = new int[N + 1];
-        Arrays.fill(parent, -1);
+    /** Edges from every node to target, -1 if unreachable (and for index 0). One BFS for all starts. */
+    public int[] distancesTo(int target) {
+        CsrGraph g = csr();
+        if (!parallelBfs()) return ParallelBfs.serialDistances(g, target);
+        return ParallelBfs.distances(g, target, ForkJoinPool.commonPool());
+    }
 
-        ArrayDeque<Integer> q = new ArrayDeque<>();
-        q.add(start);
-        vis[start] = true;
+    /** For distances from distancesTo(target): the next node on shortestPath(v, target), -1 if none. */
+    public int[] stepsTowards(int[] dist) {
+        CsrGraph g = csr();
+        if (!parallelBfs()) return ParallelBfs.parents(g, dist);
+        return ParallelBfs.parents(g, dist, ForkJoinPool.commonPool());
+    }
+
+    /** shortestPath(start, target) read off stepsTowards for that target, empty if unreachable. */
+    public static List<Integer> walk(int[] towards, int start, int target) {
+        if (start == target) return List.of(start);
+        if (towards[start] == -1) return List.of();
+        List<Integer> path = new ArrayList<>();
+        for (int cur = start; cur != -1; cur = towards[cur]) path.add(cur);
+        return path;
+    }
+
+    private boolean parallelBfs() {
+        return N >= PARALLEL_BFS_NODES && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    private CsrGraph csr() {
+        if (csr == null) csr = CsrGraph.of(this);
+        return csr;
+    }
+
+    /** Edges from v to node N, -1 if unreachable. */
+    public int distanceToTarget(int v) {
+        ensureTargetTree();
+        return distToTarget[v] == INF ? -1 : distToTarget[v];
+    }
+
+    /** Neighbour of v one step closer to N, -1 if none. */
+    public int nextHop(int v) {
+        ensureTargetTree();
+        return nextHop[v];
+    }
 
+    /** A shortest path v..N from the maintained tree (no BFS), empty if unreachable. */
+    public List<Integer> pathToTarget(int v) {
+        ensureTargetTree();
+        if (distToTarget[v] == INF) return List.of();
+        List<Integer> path = new ArrayList<>(distToTarget[v] + 1);
+        for (int cur = v; cur != -1; cur = nextHop[cur]) path.add(cur);
+        return path;
+    }
+
+    private void ensureTargetTree() {
+        if (distToTarget != null) return;
+        distToTarget = new int[N + 1];
+        nextHop = new int[N + 1];
+        mark = new int[N + 1];
+        Arrays.fill(distToTarget, INF);
+        Arrays.fill(nextHop, -1);
+
+        ArrayDeque<Integer> q = new ArrayDeque<>();
+        distToTarget[N] = 0;
+        q.add(N);
         while (!q.isEmpty()) {
             int u = q.poll();
             for (int v : adjList.get(u)) {
-                if (!vis[v]) {
-                    vis[v] = true;
-                    parent[v] = u;
-                    if (v == target) return reconstruct(parent, start, target);
+                if (distToTarget[v] == INF) {
+                    distToTarget[v] = distToTarget[u] + 1;
+                    nextHop[v] = u;
                     q.add(v);
                 }
             }
         }
-        return List.of();
     }
 
-    private List<Integer> reconstruct(int[] parent, int start, int target) {
-        LinkedList<Integer> path = new LinkedList<>();
-        int cur = target;
-        while (cur != -1) {
-            path.addFirst(cur);
-            if (cur == start) break;
-            cur = parent[cur];
+    /** New edge u-v: if it shortens v, push the improvement outwards (only improved nodes are visited). */
+    private void relaxFrom(int u, int v) {
+        if (distToTarget[u] == INF || distToTarget[u] + 1 >= distToTarget[v]) return;
+        distToTarget[v] = distToTarget[u] + 1;
+        nextHop[v] = u;
+
+        ArrayDeque<Integer> q = new ArrayDeque<>();
+        q.add(v);
+        while (!q.isEmpty()) {
+            int x = q.poll();
+            for (int y : adjList.get(x)) {
+                if (distToTarget[x] + 1 < distToTarget[y]) {
+                    distToTarget[y] = distToTarget[x] + 1;
+                    nextHop[y] = x;
+                    q.add(y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tree edge v -> nextHop[v] is gone. Only the subtree hanging below v can change:
+     * reset it, seed each node from its best neighbour outside the subtree, then run a
+     * unit-weight Dijkstra (sorted seeds merged with a FIFO) inside the subtree.
+     */
+    private void repairAfterCut(int v) {
+        // cheap case: another neighbour on the same level, nothing below v changes
+        for (int w : adjList.get(v)) {
+            if (distToTarget[w] != INF && distToTarget[w] == distToTarget[v] - 1) {
+                nextHop[v] = w;
+                return;
+            }
+        }
+
+        int stamp = ++markStamp;
+        List<Integer> affected = new ArrayList<>();
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        mark[v] = stamp;
+        stack.push(v);
+        while (!stack.isEmpty()) {
+            int u = stack.pop();
+            affected.add(u);
+            for (int w : adjList.get(u)) {
+                if (nextHop[w] == u && mark[w] != stamp) {
+                    mark[w] = stamp;
+                    stack.push(w);
+                }
+            }
+        }
+        for (int u : affected) {
+            distToTarget[u] = INF;
+            nextHop[u] = -1;
+        }
+
+        long[] seeds = new long[affected.size()];
+        int seedCount = 0;
+        for (int u : affected) {
+            int best = INF, hop = -1;
+            for (int w : adjList.get(u)) {
+                if (mark[w] != stamp && distToTarget[w] != INF && distToTarget[w] + 1 < best) {
+                    best = distToTarget[w] + 1;
+                    hop = w;
+                }
+            }
+            if (hop != -1) {
+                distToTarget[u] = best;
+                nextHop[u] = hop;
+                seeds[seedCount++] = ((long) best << 32) | u;
+            }
+        }
+        Arrays.sort(seeds, 0, seedCount);
+
+        ArrayDeque<Integer> fifo = new ArrayDeque<>();
+        int si = 0;
+        while (si < seedCount || !fifo.isEmpty()) {
+            int u;
+            if (fifo.isEmpty() || (si < seedCount && (int) (seeds[si] >>> 32) < distToTarget[fifo.peek()])) {
+                long s = seeds[si++];
+                u = (int) s;
+                if (distToTarget[u] != (int) (s >>> 32)) continue; // improved since seeding
+            } else {
+                u = fifo.poll();
+            }
+            for (int w : adjList.get(u)) {
+                if (mark[w] == stamp && distToTarget[u] + 1 < distToTarget[w]) {
+                    distToTarget[w] = distToTarget[u] + 1;
+                    nextHop[w] = u;
+                    fifo.add(w);
+                }
+            }
         }
-        if (path.isEmpty() || path.getFirst() != start) return List.of();
-        return path;
     }
 
     public static boolean isPrime(int x) {
@@ -0,0 +1,227 @@
+package org.example;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Paints a snakes & ladders board of any size (cols x rows, node 1 bottom-left, rows alternate
+ * direction) for a scrolling board component: call paint(g, g.getClipBounds()) from paintComponent.
+ *
+ * Cells, numbers and link overlays are static between board changes, so they are rendered into
+ * TILE x TILE images once and reused; only tiles that intersect the clip are drawn (or rendered).
+ * The highlighted path and tokens change every move and are drawn on top, also culled to the clip;
+ * tokens and link end-markers are blits from SpriteAtlas.
+ */
+public class BoardRenderer {
+
+    public static final int TILE = 256;
+
+    private final int cols, rows;
+    private final int baseCellSize;
+    private final TileCache cache;
+
+    private List<RandomLink> links = new ArrayList<>();
+    private int version;     // bumped on every board change, old tiles just age out of the cache
+    private float zoom = 1f;
+    private BasicStroke linkStroke; // for linkStrokeCell
+    private int linkStrokeCell;
+
+    public BoardRenderer(int cols, int rows, int baseCellSize, int maxTiles) {
+        this.cols = cols;
+        this.rows = rows;
+        this.baseCellSize = baseCellSize;
+        this.cache = new TileCache(maxTiles);
+    }
+
+    public void setRandomLinks(List<RandomLink> randomLinks) {
+        links = new ArrayList<>(randomLinks);
+        version++;
+    }
+
+    public void setZoom(float zoom) {
+        this.zoom = zoom;
+    }
+
+    public float getZoom() {
+        return zoom;
+    }
+
+    public int cellSize() {
+        return Math.max(4, Math.round(baseCellSize * zoom));
+    }
+
+    public Dimension getPreferredSize() {
+        return new Dimension(cols * cellSize(), rows * cellSize());
+    }
+
+    public int getCachedTileCount() {
+        return cache.size();
+    }
+
+    public Rectangle cellBounds(int node) {
+        int cell = cellSize();
+        int r = (node - 1) / cols;
+        int c = (node - 1) % cols;
+        if (r % 2 == 1) c = cols - 1 - c;
+        return new Rectangle(c * cell, (rows - 1 - r) * cell, cell, cell);
+    }
+
+    private Point cellCenter(int node) {
+        Rectangle b = cellBounds(node);
+        return new Point(b.x + b.width / 2, b.y + b.height / 2);
+    }
+
+    /** Static board (cells + links) for the visible part only. */
+    public void paint(Graphics2D g, Rectangle clip) {
+        int cell = cellSize();
+        int width = cols * cell, height = rows * cell;
+        if (clip == null) clip = new Rectangle(0, 0, width, height);
+
+        int tx0 = Math.max(0, clip.x / TILE);
+        int ty0 = Math.max(0, clip.y / TILE);
+        int tx1 = Math.min((width - 1) / TILE, (clip.x + clip.width - 1) / TILE);
+        int ty1 = Math.min((height - 1) / TILE, (clip.y + clip.height - 1) / TILE);
+
+        for (int ty = ty0; ty <= ty1; ty++) {
+            for (int tx = tx0; tx <= tx1; tx++) {
+                BufferedImage tile = cache.get(zoom, version, tx, ty);
+                if (tile == null) {
+                    tile = renderTile(tx, ty, cell);
+                    cache.put(zoom, version, tx, ty, tile);
+                }
+                g.drawImage(tile, tx * TILE, ty * TILE, null);
+            }
+        }
+    }
+
+    public void paintHighlightPath(Graphics2D g, Rectangle clip, List<Integer> path) {
+        if (path == null || path.size() < 2) return;
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(UiCache.color(255, 193, 7));
+        float width = Math.max(2f, cellSize() / 12f);
+        g.setStroke(new BasicStroke(width, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        for (int i = 0; i + 1 < path.size(); i++) {
+            Point a = cellCenter(path.get(i));
+            Point b = cellCenter(path.get(i + 1));
+            if (clip != null && !clip.intersects(segmentBounds(a, b, width))) continue;
+            g.drawLine(a.x, a.y, b.x, b.y);
+        }
+    }
+
+    /** The link a token just took, drawn wide in amber over the normal overlay. */
+    public void paintTeleport(Graphics2D g, Rectangle clip, RandomLink link) {
+        if (link == null) return;
+        float width = Math.max(4f, cellSize() / 6f);
+        Point a = cellCenter(link.getFrom());
+        Point b = cellCenter(link.getTo());
+        if (clip != null && !clip.intersects(segmentBounds(a, b, width))) return;
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(UiCache.color(255, 193, 7));
+        g.setStroke(new BasicStroke(width, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        g.drawLine(a.x, a.y, b.x, b.y);
+    }
+
+    /**
+     * Link overlays, culled to the clip. Part of the cached tiles for this renderer's own links;
+     * boards that share one renderer's tiles (multi-table) draw their links with this on top.
+     * Both ends get a marker from the sprite atlas (ladder foot / top, snake tail / head).
+     */
+    public void paintLinks(Graphics2D g, Rectangle clip, List<RandomLink> links) {
+        int cell = cellSize();
+        if (linkStroke == null || linkStrokeCell != cell) {
+            linkStroke = new BasicStroke(Math.max(2f, cell / 10f), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+            linkStrokeCell = cell;
+        }
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setStroke(linkStroke);
+        for (RandomLink link : links) {
+            Point a = cellCenter(link.getFrom());
+            Point b = cellCenter(link.getTo());
+            if (clip != null && !clip.intersects(segmentBounds(a, b, linkStroke.getLineWidth()))) continue;
+            g.setColor(link.isLadder() ? UiCache.color(67, 160, 71) : UiCache.color(229, 57, 53));
+            g.drawLine(a.x, a.y, b.x, b.y);
+        }
+
+        // after all lines, so a line crossing another link's end doesn't cover its marker
+        SpriteAtlas atlas = SpriteAtlas.get(g, Math.max(6, cell / 4));
+        for (RandomLink link : links) {
+            boolean ladder = link.isLadder();
+            paintMarker(g, clip, atlas, ladder ? SpriteAtlas.LADDER_FOOT : SpriteAtlas.SNAKE_TAIL, link.getFrom());
+            paintMarker(g, clip, atlas, ladder ? SpriteAtlas.LADDER_TOP : SpriteAtlas.SNAKE_HEAD, link.getTo());
+        }
+    }
+
+    private void paintMarker(Graphics2D g, Rectangle clip, SpriteAtlas atlas, int marker, int node) {
+        Rectangle b = cellBounds(node);
+        int cx = b.x + b.width / 2, cy = b.y + b.height / 2, half = atlas.slot / 2 + 1;
+        if (clip != null && !clip.intersects(cx - half, cy - half, 2 * half, 2 * half)) return;
+        atlas.drawMarker(g, marker, cx, cy);
+    }
+
+    /** positions[i] is the node of token i, drawn in colors[i]. */
+    public void paintTokens(Graphics2D g, Rectangle clip, int[] positions, Color[] colors) {
+        paintTokens(g, clip, positions, colors, -1);
+    }
+
+    /** Same, with token highlighted (e.g. the one moving) ringed; -1 for none. Blits from the sprite atlas. */
+    public void paintTokens(Graphics2D g, Rectangle clip, int[] positions, Color[] colors, int highlighted) {
+        int cell = cellSize();
+        int size = Math.max(4, cell / 4);
+        SpriteAtlas atlas = SpriteAtlas.get(g, size);
+        for (int i = 0; i < positions.length; i++) {
+            Rectangle b = cellBounds(positions[i]);
+            if (clip != null && !clip.intersects(b)) continue;
+            int x = b.x + 3 + (i % 3) * (size + 2);
+            int y = b.y + b.height - size - 3 - (i / 3) * (size + 2);
+            atlas.drawToken(g, colors[i], i == highlighted, x, y);
+        }
+    }
+
+    private BufferedImage renderTile(int tx, int ty, int cell) {
+        BufferedImage img = new BufferedImage(TILE, TILE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        try {
+            int x0 = tx * TILE, y0 = ty * TILE;
+            g.setColor(UiCache.color(227, 242, 253));
+            g.fillRect(0, 0, TILE, TILE);
+            g.translate(-x0, -y0);
+
+            Font font = UiCache.font("Segoe UI", Font.BOLD, Math.max(8, cell / 5));
+            g.setFont(font);
+            int c0 = x0 / cell, c1 = Math.min(cols - 1, (x0 + TILE - 1) / cell);
+            int r0 = y0 / cell, r1 = Math.min(rows - 1, (y0 + TILE - 1) / cell);
+            for (int screenRow = r0; screenRow <= r1; screenRow++) {
+                int r = rows - 1 - screenRow;
+                for (int col = c0; col <= c1; col++) {
+                    int c = (r % 2 == 1) ? cols - 1 - col : col;
+                    int node = r * cols + c + 1;
+                    int x = col * cell, y = screenRow * cell;
+                    g.setColor((r + col) % 2 == 0 ? UiCache.color(255, 255, 255) : UiCache.color(225, 245, 254));
+                    g.fillRect(x, y, cell, cell);
+                    g.setColor(UiCache.color(187, 222, 251));
+                    g.drawRect(x, y, cell - 1, cell - 1);
+                    if (cell >= 16) {
+                        g.setColor(UiCache.color(21, 101, 192));
+                        g.drawString(String.valueOf(node), x + 3, y + font.getSize() + 2);
+                    }
+                }
+            }
+
+            paintLinks(g, new Rectangle(x0, y0, TILE, TILE), links);
+        } finally {
+            g.dispose();
+        }
+        return img;
+    }
+
+    /** Box around a segment drawn with a round-capped stroke of the given width. */
+    static Rectangle segmentBounds(Point a, Point b, float strokeWidth) {
+        Rectangle r = new Rectangle(a);
+        r.add(b);
+        int pad = (int) Math.ceil(strokeWidth / 2) + 1;
+        r.grow(pad, pad);
+        return r;
+    }
+}
@@ -1,12 +1,19 @@
+import org.example.SpriteAtlas;
+
 import javax.swing.*;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class CellPanel extends JPanel {
+    private static Font labelFont; // derived once, shared by all cells
+    private static Font heatFont;
+    private static long updates; // setOccupants calls, EDT only; soak gauge
+
     public final int nodeId;
     private final JLabel label;
     private final List<Player> occupants = new ArrayList<>();
+    private String heatText; // heatmap overlay, null = off
 
     public CellPanel(int nodeId) {
         this.nodeId = nodeId;
@@ -14,33 +21,54 @@ public class CellPanel extends JPanel {
         setBorder(BorderFactory.createLineBorder(Color.GRAY));
 
         label = new JLabel(String.valueOf(nodeId));
-        label.setFont(label.getFont().deriveFont(Font.BOLD, 12f));
+        if (labelFont == null) {
+            labelFont = label.getFont().deriveFont(Font.BOLD, 12f);
+            heatFont = label.getFont().deriveFont(Font.PLAIN, 10f);
+        }
+        label.setFont(labelFont);
         label.setHorizontalAlignment(SwingConstants.LEFT);
         add(label, BorderLayout.NORTH);
 
         setBackground(Color.WHITE);
     }
 
+    public static long updates() {
+        return updates;
+    }
+
     public void setOccupants(List<Player> playersHere) {
+        updates++;
         occupants.clear();
         occupants.addAll(playersHere);
         repaint();
     }
 
+    /** Heatmap overlay: background tint plus a short text; (null, null, null) turns it off. */
+    public void setHeat(Color tint, String text, String tooltip) {
+        heatText = text;
+        setBackground(tint != null ? tint : Color.WHITE);
+        setToolTipText(tooltip);
+        repaint();
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
 
+        if (heatText != null) {
+            g.setFont(heatFont);
+            g.setColor(Color.DARK_GRAY);
+            g.drawString(heatText, getWidth() - g.getFontMetrics().stringWidth(heatText) - 4, 12);
+        }
+
         int tokenSize = 12;
         int padding = 4;
         int x = padding;
         int y = getHeight() - tokenSize - padding;
 
+        SpriteAtlas tokens = SpriteAtlas.get(g, tokenSize);
         for (Player p : occupants) {
-            g.setColor(p.color);
-            g.fillOval(x, y, tokenSize, tokenSize);
-            g.setColor(Color.BLACK);
-            g.drawOval(x, y, tokenSize, tokenSize);
+            tokens.drawToken(g, p.color, false, x, y);
 
             x += tokenSize + 4;
             if (x + tokenSize > getWidth()) {
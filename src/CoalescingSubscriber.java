@@ -0,0 +1,67 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects events and hands them over in batches on its own executor (e.g. SwingUtilities::invokeLater):
+ * everything that arrived since the last drain goes into one onBatch call. Demand is only
+ * renewed after a batch is handled, so a slow consumer pushes back on the publisher.
+ */
+public abstract class CoalescingSubscriber implements Flow.Subscriber<GameEvent> {
+
+    private final Executor drainExecutor;
+    private final int window;
+    private final ConcurrentLinkedQueue<GameEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private volatile Flow.Subscription subscription;
+
+    protected CoalescingSubscriber(Executor drainExecutor, int window) {
+        this.drainExecutor = drainExecutor;
+        this.window = window;
+    }
+
+    protected abstract void onBatch(List<GameEvent> batch);
+
+    protected void onClose() {
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription s) {
+        subscription = s;
+        s.request(window);
+    }
+
+    @Override
+    public void onNext(GameEvent e) {
+        queue.add(e);
+        if (drainScheduled.compareAndSet(false, true)) drainExecutor.execute(this::drain);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        drainExecutor.execute(() -> {
+            drain();
+            onClose();
+        });
+    }
+
+    @Override
+    public void onComplete() {
+        drainExecutor.execute(() -> {
+            drain();
+            onClose();
+        });
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        List<GameEvent> batch = new ArrayList<>();
+        for (GameEvent e; (e = queue.poll()) != null; ) batch.add(e);
+        if (batch.isEmpty()) return;
+        onBatch(batch);
+        subscription.request(batch.size());
+    }
+}
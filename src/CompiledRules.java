@@ -0,0 +1,69 @@
+/**
+ * A RuleConfig baked against one board. Every green move is a table lookup (prime rule, shortest
+ * path, clamping / exact finish already applied), double turns are a boolean per node, so a turn
+ * costs the same whatever the variant. The board must not change after compiling.
+ */
+public class CompiledRules {
+
+    private static final int[] NO_MOVE = new int[0];
+
+    public final RuleConfig config;
+    public final int target;
+    public final double greenOdds;
+
+    private final int[][] forward;        // [pos * 7 + dice] -> nodes entered, in order
+    private final boolean[] primeStart;   // green from here uses the shortest path
+    private final boolean[] doubleTurn;
+
+    /** primeRoutes[pos] = shortest path pos..target for prime pos (empty if unreachable), see BoardAnalysis. */
+    CompiledRules(RuleConfig config, int target, int[][] primeRoutes) {
+        this.config = config;
+        this.target = target;
+        this.greenOdds = config.greenOdds;
+        this.forward = new int[(target + 1) * 7][];
+        this.primeStart = new boolean[target + 1];
+        this.doubleTurn = new boolean[target + 1];
+
+        for (int pos = 1; pos <= target; pos++) {
+            doubleTurn[pos] = config.doubleTurnModulus > 0 && pos % config.doubleTurnModulus == 0;
+
+            primeStart[pos] = config.primeShortestPath && BoardGraph.isPrime(pos);
+            int[] sp = primeStart[pos] ? primeRoutes[pos] : NO_MOVE;
+
+            for (int dice = 1; dice <= 6; dice++) {
+                forward[pos * 7 + dice] = sp.length == 0 ? sequential(pos, dice) : alongPath(sp, dice);
+            }
+        }
+    }
+
+    private int[] sequential(int pos, int dice) {
+        if (config.exactFinish && pos + dice > target) return NO_MOVE;
+        int n = Math.min(dice, target - pos);
+        if (n <= 0) return NO_MOVE;
+        int[] path = new int[n];
+        for (int i = 0; i < n; i++) path[i] = pos + 1 + i;
+        return path;
+    }
+
+    private int[] alongPath(int[] sp, int dice) {
+        if (config.exactFinish && dice > sp.length - 1) return NO_MOVE;
+        int n = Math.min(dice, sp.length - 1);
+        if (n <= 0) return NO_MOVE;
+        int[] path = new int[n];
+        System.arraycopy(sp, 1, path, 0, n);
+        return path;
+    }
+
+    /** Nodes entered by a green roll of `dice` from `pos`; empty = stay. Shared, do not modify. */
+    public int[] forward(int pos, int dice) {
+        return forward[pos * 7 + dice];
+    }
+
+    public boolean primeStart(int pos) {
+        return primeStart[pos];
+    }
+
+    public boolean isDoubleTurn(int pos) {
+        return doubleTurn[pos];
+    }
+}
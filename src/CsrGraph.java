@@ -0,0 +1,77 @@
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Compact board graph for very large boards (BoardGraph's (N+1)x(N+1) matrix does not fit past a few
+ * thousand nodes). Nodes 1..n, undirected, neighbours of u are targets[offsets[u] .. offsets[u+1]).
+ */
+public class CsrGraph {
+    public final int n;
+    public final int[] offsets;
+    public final int[] targets;
+
+    private CsrGraph(int n, int[] offsets, int[] targets) {
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    public int degree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    /** Same adjacency (and neighbour order) as the BoardGraph. */
+    public static CsrGraph of(BoardGraph g) {
+        int[] offsets = new int[g.N + 2];
+        for (int u = 1; u <= g.N; u++) offsets[u + 1] = offsets[u] + g.adjList.get(u).size();
+        int[] targets = new int[offsets[g.N + 1]];
+        for (int u = 1; u <= g.N; u++) {
+            int k = offsets[u];
+            for (int v : g.adjList.get(u)) targets[k++] = v;
+        }
+        return new CsrGraph(g.N, offsets, targets);
+    }
+
+    /** Default chain i <-> i+1 plus linkCount random links, same rules as BoardGraph.addFiveRandomLinks. */
+    public static CsrGraph chainWithLinks(int n, int linkCount, Random rnd) {
+        int[] la = new int[linkCount], lb = new int[linkCount];
+        Set<Long> used = new HashSet<>();
+        int links = 0, attempts = 0;
+        while (links < linkCount && attempts < linkCount * 20 + 10_000) {
+            attempts++;
+            int a = 1 + rnd.nextInt(n);
+            int b = 1 + rnd.nextInt(n);
+            if (a == b || Math.abs(a - b) == 1) continue;
+            if (!used.add(((long) Math.min(a, b) << 32) | Math.max(a, b))) continue;
+            la[links] = a;
+            lb[links] = b;
+            links++;
+        }
+
+        int[] degree = new int[n + 2];
+        for (int i = 1; i < n; i++) {
+            degree[i]++;
+            degree[i + 1]++;
+        }
+        for (int i = 0; i < links; i++) {
+            degree[la[i]]++;
+            degree[lb[i]]++;
+        }
+        int[] offsets = new int[n + 2];
+        for (int u = 1; u <= n; u++) offsets[u + 1] = offsets[u] + degree[u];
+
+        int[] fill = Arrays.copyOf(offsets, n + 2);
+        int[] targets = new int[offsets[n + 1]];
+        for (int i = 1; i < n; i++) {
+            targets[fill[i]++] = i + 1;
+            targets[fill[i + 1]++] = i;
+        }
+        for (int i = 0; i < links; i++) {
+            targets[fill[la[i]]++] = lb[i];
+            targets[fill[lb[i]]++] = la[i];
+        }
+        return new CsrGraph(n, offsets, targets);
+    }
+}
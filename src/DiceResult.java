@@ -1,4 +1,13 @@
 public class DiceResult {
+    private static final DiceResult[] PACKED = new DiceResult[16]; // by DiceSource roll
+
+    static {
+        for (int v = 1; v <= 6; v++) {
+            PACKED[DiceSource.pack(v, false)] = new DiceResult(v, false);
+            PACKED[DiceSource.pack(v, true)] = new DiceResult(v, true);
+        }
+    }
+
     public final int value;       // 1..6
     public final boolean green;   // true=maju, false=mundur
 
@@ -6,4 +15,9 @@ public class DiceResult {
         this.value = value;
         this.green = green;
     }
+
+    /** Shared instance for a packed DiceSource roll. */
+    public static DiceResult of(int roll) {
+        return PACKED[roll];
+    }
 }
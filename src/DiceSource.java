@@ -0,0 +1,109 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Dice rolls packed into one byte each: value 1..6 in the low bits, GREEN (0x8) set for a forward
+ * roll. Rolls are generated BUFFER at a time from a SplittableRandom, one nextLong per roll
+ * (high 32 bits -> value, low 32 bits -> green), so the hot path is an array read.
+ *
+ * A generated source belongs to one thread; local() gives each thread its own. replay() plays back
+ * a recorded sequence instead, e.g. the ROLL events of a recorded game.
+ */
+public class DiceSource {
+
+    public static final int VALUE_MASK = 0x7;
+    public static final int GREEN = 0x8;
+    static final int BUFFER = 32; // most games need a few dozen rolls; larger fills are mostly thrown away on reseed
+
+    private static final SplittableRandom ROOT = new SplittableRandom();
+    private static final ThreadLocal<DiceSource> LOCAL = ThreadLocal.withInitial(() -> {
+        synchronized (ROOT) {
+            return new DiceSource(ROOT.split(), RuleConfig.DEFAULT.greenOdds);
+        }
+    });
+
+    private SplittableRandom rnd;   // null when replaying
+    private final byte[] buf;
+    private int pos, limit;
+    private double greenOdds;
+    private long greenThreshold;    // green when the low 32 bits are below this
+
+    public DiceSource(long seed, double greenOdds) {
+        this(new SplittableRandom(seed), greenOdds);
+    }
+
+    private DiceSource(SplittableRandom rnd, double greenOdds) {
+        this.rnd = rnd;
+        this.buf = new byte[BUFFER];
+        setGreenOdds(greenOdds);
+    }
+
+    private DiceSource(byte[] recorded) {
+        this.buf = recorded;
+        this.limit = recorded.length;
+    }
+
+    /** This thread's generator, randomly seeded. Not reproducible; use new DiceSource(seed, ..) for that. */
+    public static DiceSource local() {
+        return LOCAL.get();
+    }
+
+    /** Plays back packed rolls; next() throws once they run out. */
+    public static DiceSource replay(byte[] rolls) {
+        return new DiceSource(rolls.clone());
+    }
+
+    /** The rolls of a recorded game, in order. */
+    public static DiceSource replay(List<GameEvent> events) {
+        byte[] rolls = new byte[events.size()];
+        int n = 0;
+        for (GameEvent e : events) {
+            if (e.type == GameEvent.Type.ROLL) rolls[n++] = (byte) pack(e.value, e.green);
+        }
+        return new DiceSource(Arrays.copyOf(rolls, n));
+    }
+
+    public static int pack(int value, boolean green) {
+        return value | (green ? GREEN : 0);
+    }
+
+    public static int value(int roll) {
+        return roll & VALUE_MASK;
+    }
+
+    public static boolean green(int roll) {
+        return (roll & GREEN) != 0;
+    }
+
+    /** Restarts the generator; buffered rolls are dropped. */
+    public void reseed(long seed) {
+        if (rnd == null) throw new IllegalStateException("replaying");
+        rnd = new SplittableRandom(seed);
+        pos = limit = 0;
+    }
+
+    /** Odds of a green roll from the next roll on. Ignored when replaying. */
+    public void setGreenOdds(double odds) {
+        if (odds == greenOdds) return;
+        greenOdds = odds;
+        greenThreshold = Math.min(1L << 32, Math.max(0, Math.round(odds * (1L << 32))));
+        if (rnd != null) pos = limit = 0; // rolls already made used the old odds
+    }
+
+    public int next() {
+        if (pos == limit) refill();
+        return buf[pos++];
+    }
+
+    private void refill() {
+        if (rnd == null) throw new IllegalStateException("replay exhausted after " + limit + " rolls");
+        for (int i = 0; i < BUFFER; i++) {
+            long r = rnd.nextLong();
+            int value = 1 + (int) (((r >>> 32) * 6) >>> 32);
+            buf[i] = (byte) (value | ((r & 0xffffffffL) < greenThreshold ? GREEN : 0));
+        }
+        pos = 0;
+        limit = BUFFER;
+    }
+}
@@ -0,0 +1,31 @@
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/** Counts events per type; drains on the publisher's delivery thread. */
+public class EventMetrics extends CoalescingSubscriber {
+
+    private final AtomicLongArray counts = new AtomicLongArray(GameEvent.Type.values().length);
+
+    public EventMetrics() {
+        super(Runnable::run, GameEventStream.BUFFER);
+    }
+
+    @Override
+    protected void onBatch(List<GameEvent> batch) {
+        for (GameEvent e : batch) counts.incrementAndGet(e.type.ordinal());
+    }
+
+    public long count(GameEvent.Type type) {
+        return counts.get(type.ordinal());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (GameEvent.Type t : GameEvent.Type.values()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(t).append('=').append(count(t));
+        }
+        return sb.toString();
+    }
+}
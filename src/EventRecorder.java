@@ -0,0 +1,34 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/** Keeps every event in order, for replays. */
+public class EventRecorder extends CoalescingSubscriber {
+
+    private final List<GameEvent> events = new ArrayList<>();
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    public EventRecorder() {
+        super(Runnable::run, GameEventStream.BUFFER);
+    }
+
+    @Override
+    protected synchronized void onBatch(List<GameEvent> batch) {
+        events.addAll(batch);
+    }
+
+    @Override
+    protected void onClose() {
+        closed.countDown();
+    }
+
+    public synchronized List<GameEvent> events() {
+        return new ArrayList<>(events);
+    }
+
+    /** Waits until the stream has been closed and everything published before is recorded. */
+    public List<GameEvent> awaitClosed() throws InterruptedException {
+        closed.await();
+        return events();
+    }
+}
@@ -0,0 +1,95 @@
+package org.example;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The 8x8 board of org.example.GameUI, inside its JScrollPane. Painting goes through
+ * BoardRenderer: only the tiles that intersect the clip (the visible part of the viewport) are
+ * drawn, from the tile cache; the highlighted prime path, the link just taken and the tokens go on
+ * top, also culled. Ctrl + mouse wheel zooms, a plain wheel scrolls as usual.
+ */
+public class GameBoard extends JComponent {
+
+    static final int CELL = 80;
+    static final float MIN_ZOOM = 0.25f, MAX_ZOOM = 4f;
+
+    private final BoardRenderer renderer = new BoardRenderer(8, 8, CELL, 32);
+    private List<Integer> highlightPath;
+    private RandomLink teleport;
+    private List<Player> players = new ArrayList<>();
+
+    public GameBoard() {
+        setOpaque(true);
+        addMouseWheelListener(this::onWheel);
+    }
+
+    public void setRandomLinks(List<RandomLink> links) {
+        renderer.setRandomLinks(links);
+        repaint();
+    }
+
+    /** Prime-node shortest path to highlight, null for none. */
+    public void setHighlightPath(List<Integer> path) {
+        highlightPath = path == null ? null : new ArrayList<>(path);
+    }
+
+    /** Snake / ladder the current player just took, null for none. */
+    public void setTeleportEffect(RandomLink link) {
+        teleport = link;
+    }
+
+    /** Kept by reference: positions are read when painting. */
+    public void setPlayers(List<Player> players) {
+        this.players = players;
+    }
+
+    public float getZoom() {
+        return renderer.getZoom();
+    }
+
+    public void setZoom(float zoom) {
+        renderer.setZoom(Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom)));
+        revalidate();
+        repaint();
+    }
+
+    private void onWheel(MouseWheelEvent e) {
+        if ((e.getModifiersEx() & InputEvent.CTRL_DOWN_MASK) != 0) {
+            setZoom(getZoom() * (float) Math.pow(1.1, -e.getPreciseWheelRotation()));
+        } else if (getParent() != null) {
+            getParent().dispatchEvent(SwingUtilities.convertMouseEvent(this, e, getParent())); // let the scroll pane scroll
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return renderer.getPreferredSize();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            Rectangle clip = g2.getClipBounds();
+            renderer.paint(g2, clip);
+            renderer.paintHighlightPath(g2, clip, highlightPath);
+            renderer.paintTeleport(g2, clip, teleport);
+
+            int n = players.size();
+            int[] positions = new int[n];
+            Color[] colors = new Color[n];
+            for (int i = 0; i < n; i++) {
+                positions[i] = Math.max(1, Math.min(64, players.get(i).getPosition()));
+                colors[i] = players.get(i).getColor();
+            }
+            renderer.paintTokens(g2, clip, positions, colors);
+        } finally {
+            g2.dispose();
+        }
+    }
+}
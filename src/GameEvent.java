@@ -0,0 +1,53 @@
+public class GameEvent {
+
+    public enum Type {
+        TURN,         // player's turn starts (from = current position)
+        ROLL,         // value + green, primePath = prime start -> shortest path
+        STEP,         // from -> to along the i <-> i+1 chain (forward or back)
+        JUMP,         // from -> to over a random link
+        DOUBLE_TURN,  // landed on a double-turn node (to), multiple of 5 by default
+        WIN           // reached the last node
+    }
+
+    public final Type type;
+    public final int turn;      // 1-based roll counter, 0 before the first roll
+    public final int player;    // seat index
+    public final int from;
+    public final int to;
+    public final int value;     // dice value for ROLL
+    public final boolean green;
+    public final boolean primePath;
+
+    public GameEvent(Type type, int turn, int player, int from, int to, int value, boolean green, boolean primePath) {
+        this.type = type;
+        this.turn = turn;
+        this.player = player;
+        this.from = from;
+        this.to = to;
+        this.value = value;
+        this.green = green;
+        this.primePath = primePath;
+    }
+
+    public static GameEvent turn(int turn, int player, int position) {
+        return new GameEvent(Type.TURN, turn, player, position, position, 0, false, false);
+    }
+
+    public static GameEvent roll(int turn, int player, int position, int value, boolean green, boolean primePath) {
+        return new GameEvent(Type.ROLL, turn, player, position, position, value, green, primePath);
+    }
+
+    /** STEP or JUMP depending on whether from/to are neighbours on the chain. */
+    public static GameEvent move(int turn, int player, int from, int to) {
+        Type t = Math.abs(from - to) == 1 ? Type.STEP : Type.JUMP;
+        return new GameEvent(t, turn, player, from, to, 0, false, false);
+    }
+
+    public static GameEvent doubleTurn(int turn, int player, int position) {
+        return new GameEvent(Type.DOUBLE_TURN, turn, player, position, position, 0, false, false);
+    }
+
+    public static GameEvent win(int turn, int player, int position) {
+        return new GameEvent(Type.WIN, turn, player, position, position, 0, false, false);
+    }
+}
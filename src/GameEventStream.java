@@ -0,0 +1,40 @@
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * Typed game events on a java.util.concurrent.Flow publisher. Producers check isActive() before
+ * building an event, so a game without subscribers pays one volatile read per turn.
+ */
+public class GameEventStream implements AutoCloseable {
+
+    public static final int BUFFER = 1024;
+
+    private final SubmissionPublisher<GameEvent> publisher;
+
+    public GameEventStream() {
+        publisher = new SubmissionPublisher<>(ForkJoinPool.commonPool(), BUFFER);
+    }
+
+    public void subscribe(Flow.Subscriber<GameEvent> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    public boolean isActive() {
+        return publisher.hasSubscribers();
+    }
+
+    /**
+     * Blocks while a subscriber's buffer is full (backpressure), so nobody misses an event. Call it
+     * from a game thread (HeadlessGame, GameUI's turn thread), never from the EDT: UI subscribers
+     * drain there.
+     */
+    public void publish(GameEvent e) {
+        publisher.submit(e);
+    }
+
+    @Override
+    public void close() {
+        publisher.close();
+    }
+}
@@ -0,0 +1,17 @@
+public class GameResult {
+    public final long seed;          // seed for dice (and board, unless fixed)
+    public final int players;
+    public final int turns;          // dice rolls until someone reached the last node
+    public final int winner;         // seat index 0..players-1, -1 = no winner (turn limit)
+    public final int backwardMoves;  // red rolls
+    public final int doubleTurns;
+
+    public GameResult(long seed, int players, int turns, int winner, int backwardMoves, int doubleTurns) {
+        this.seed = seed;
+        this.players = players;
+        this.turns = turns;
+        this.winner = winner;
+        this.backwardMoves = backwardMoves;
+        this.doubleTurns = doubleTurns;
+    }
+}
@@ -17,16 +17,27 @@ public class GameUI extends JFrame {
     private JLabel diceResultLabel;
     private JPanel dicePanel;
     private JTextArea gameLogArea;
-    private JTextArea scoreboardArea;
+    private JList<Player> scoreboardList;
     private JLabel currentPlayerLabel;
-    private JPanel playersInfoPanel;
+    private JList<Player> playersList;
+    private final PlayerListModel playersModel = new PlayerListModel();
+
+    // scoreboard: ranked by position, then by remaining shortest-path distance to 64
+    private static final int DIST_CAP = 1023;
+    private static final int SCOREBOARD_ROWS = 10;
+    private int[] distTo64;
+    private final Leaderboard<Player> leaderboard = new Leaderboard<>(65 * (DIST_CAP + 1));
+    private final LeaderboardListModel<Player> scoreboardModel = new LeaderboardListModel<>(leaderboard, SCOREBOARD_ROWS);
 
     private List<Player> players;
     private Queue<Player> playerQueue;
     private Player currentPlayer;
 
     private boolean gameStarted = false;
-    private boolean isAnimating = false;
+    private boolean isAnimating = false; // also true while a roll is being computed
+
+    private final TurnPipeline turns = new TurnPipeline();
+    private final LogHistogram pathMicros = new LogHistogram(60_000_000, 8); // prime-node Dijkstra, per session
 
     private Random random;
     private int[][] adjacencyMatrix;
@@ -35,6 +46,13 @@ public class GameUI extends JFrame {
 
     private JLabel statusLabel;
 
+    // built after the frame is on screen / on first use
+    private JSplitPane split;
+    private JTabbedPane rightTabs;
+    private JPanel playersHolder;
+    private JPanel infoTabHolder;
+    private final StringBuilder pendingLog = new StringBuilder();
+
     public GameUI() {
         random = new Random();
         players = new ArrayList<>();
@@ -44,6 +62,10 @@ public class GameUI extends JFrame {
 
         generateRandomLinks();
         initializeUI();
+
+        leaderboard.addListener((p, oldRank, newRank) -> {
+            if (gameStarted) addLog(p.getName() + " rank #" + oldRank + " -> #" + newRank);
+        });
     }
 
     // =========================================================
@@ -107,9 +129,10 @@ public class GameUI extends JFrame {
                 }
             }
         }
+        distTo64 = distancesTo64();
     }
 
-    private boolean isPrime(int n) {
+    private static boolean isPrime(int n) {
         if (n <= 1) return false;
         if (n <= 3) return true;
         if (n % 2 == 0 || n % 3 == 0) return false;
@@ -119,7 +142,8 @@ public class GameUI extends JFrame {
         return true;
     }
 
-    private List<Integer> findShortestPath(int start, int end) {
+    // runs on the turn thread: reads only the matrix it is given, never the field
+    private static List<Integer> findShortestPath(int[][] adjacencyMatrix, int start, int end) {
         int n = 65;
         int[] dist = new int[n];
         int[] prev = new int[n];
@@ -165,6 +189,51 @@ public class GameUI extends JFrame {
         return path;
     }
 
+    /** Shortest-path distance from every node to 64 (one Dijkstra from 64 over reversed edges). */
+    private int[] distancesTo64() {
+        int n = 65;
+        int[] dist = new int[n];
+        boolean[] visited = new boolean[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        dist[64] = 0;
+
+        for (int i = 0; i < n; i++) {
+            int minNode = -1;
+            int minDist = Integer.MAX_VALUE;
+            for (int j = 1; j < n; j++) {
+                if (!visited[j] && dist[j] < minDist) {
+                    minDist = dist[j];
+                    minNode = j;
+                }
+            }
+            if (minNode == -1) break;
+            visited[minNode] = true;
+
+            for (int j = 1; j < n; j++) {
+                if (adjacencyMatrix[j][minNode] > 0 && !visited[j]) {
+                    int newDist = dist[minNode] + adjacencyMatrix[j][minNode];
+                    if (newDist < dist[j]) dist[j] = newDist;
+                }
+            }
+        }
+        return dist;
+    }
+
+    private int rankScore(Player p) {
+        int pos = Math.max(1, Math.min(64, p.getPosition()));
+        return pos * (DIST_CAP + 1) + (DIST_CAP - Math.min(DIST_CAP, distTo64[pos]));
+    }
+
+    private void updateRanking(Player moved) {
+        leaderboard.update(moved, rankScore(moved));
+        scoreboardModel.refresh(moved);
+    }
+
+    private void rescoreAll() {
+        for (Player p : players) leaderboard.update(p, rankScore(p));
+        scoreboardModel.refreshAll();
+    }
+
     // =========================================================
     //  UI
     // =========================================================
@@ -172,7 +241,7 @@ public class GameUI extends JFrame {
     private void initializeUI() {
         setTitle("Snakes & Ladders - Prime Path Edition");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        getContentPane().setBackground(new Color(227, 242, 253));
+        getContentPane().setBackground(UiCache.color(227, 242, 253));
         setLayout(new BorderLayout(8, 8));
 
         setJMenuBar(createMenuBar());
@@ -182,15 +251,18 @@ public class GameUI extends JFrame {
         gameBoard.setRandomLinks(randomLinks);
 
         JScrollPane boardScroll = new JScrollPane(gameBoard);
-        boardScroll.setBorder(new LineBorder(new Color(187, 222, 251)));
-        boardScroll.getViewport().setBackground(new Color(227, 242, 253));
+        boardScroll.setBorder(new LineBorder(UiCache.color(187, 222, 251)));
+        boardScroll.getViewport().setBackground(UiCache.color(227, 242, 253));
 
-        JTabbedPane rightTabs = createRightTabs();
+        // placeholder keeps the layout stable until the tabs are built
+        JPanel rightPlaceholder = new JPanel();
+        rightPlaceholder.setPreferredSize(new Dimension(360, 600));
+        rightPlaceholder.setBackground(UiCache.color(227, 242, 253));
 
-        JSplitPane split = new JSplitPane(
+        split = new JSplitPane(
                 JSplitPane.HORIZONTAL_SPLIT,
                 boardScroll,
-                rightTabs
+                rightPlaceholder
         );
         split.setResizeWeight(0.72);
         split.setBorder(null);
@@ -201,20 +273,32 @@ public class GameUI extends JFrame {
         setMinimumSize(new Dimension(1200, 750));
         pack();
         setLocationRelativeTo(null);
+
+        // board first; controls come right after the first frame
+        SwingUtilities.invokeLater(this::installRightTabs);
+        StartupProbe.watch(this);
+    }
+
+    private void installRightTabs() {
+        if (rightTabs != null) return;
+        int divider = split.getDividerLocation();
+        rightTabs = createRightTabs();
+        split.setRightComponent(rightTabs);
+        split.setDividerLocation(divider);
     }
 
     private JPanel createTopPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(new EmptyBorder(10, 16, 10, 16));
-        panel.setBackground(new Color(25, 118, 210));
+        panel.setBackground(UiCache.color(25, 118, 210));
 
         JLabel title = new JLabel("Snakes & Ladders - Prime Path Edition");
-        title.setFont(new Font("Segoe UI", Font.BOLD, 24));
-        title.setForeground(new Color(227, 242, 253));
+        title.setFont(UiCache.font("Segoe UI", Font.BOLD, 24));
+        title.setForeground(UiCache.color(227, 242, 253));
 
         JLabel subtitle = new JLabel("64 squares • Random snakes & ladders • Prime nodes use shortest path to 64");
-        subtitle.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        subtitle.setForeground(new Color(225, 245, 254));
+        subtitle.setFont(UiCache.font("Segoe UI", Font.PLAIN, 13));
+        subtitle.setForeground(UiCache.color(225, 245, 254));
 
         JPanel textPanel = new JPanel();
         textPanel.setOpaque(false);
@@ -229,13 +313,21 @@ public class GameUI extends JFrame {
 
     private JTabbedPane createRightTabs() {
         JTabbedPane tabs = new JTabbedPane();
-        tabs.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        tabs.setFont(UiCache.font("Segoe UI", Font.PLAIN, 13));
 
         controlPanel = createControlPanel();
         tabs.addTab("Controls", controlPanel);
 
-        JPanel infoTab = createInfoTab();
-        tabs.addTab("Game Info", infoTab);
+        // log + link list are only built when the tab is first opened
+        infoTabHolder = new JPanel(new BorderLayout());
+        infoTabHolder.setBackground(UiCache.color(227, 242, 253));
+        tabs.addTab("Game Info", infoTabHolder);
+        tabs.addChangeListener(e -> {
+            if (tabs.getSelectedComponent() == infoTabHolder && gameLogArea == null) {
+                infoTabHolder.add(createInfoTab(), BorderLayout.CENTER);
+                infoTabHolder.revalidate();
+            }
+        });
 
         return tabs;
     }
@@ -243,16 +335,16 @@ public class GameUI extends JFrame {
     private JPanel createControlPanel() {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
         panel.setPreferredSize(new Dimension(360, 600));
-        panel.setBackground(new Color(227, 242, 253));
+        panel.setBackground(UiCache.color(227, 242, 253));
         panel.setBorder(new EmptyBorder(12, 12, 12, 12));
 
         JPanel buttonsPanel = new JPanel(new GridLayout(1, 2, 8, 0));
         buttonsPanel.setOpaque(false);
 
-        playButton = createModernButton("START", new Color(33, 150, 243), new Color(25, 118, 210));
+        playButton = createModernButton("START", UiCache.color(33, 150, 243), UiCache.color(25, 118, 210));
         playButton.addActionListener(e -> startGame());
 
-        rollDiceButton = createModernButton("ROLL DICE", new Color(100, 181, 246), new Color(30, 136, 229));
+        rollDiceButton = createModernButton("ROLL DICE", UiCache.color(100, 181, 246), UiCache.color(30, 136, 229));
         rollDiceButton.setEnabled(false);
         rollDiceButton.addActionListener(e -> rollDice());
 
@@ -266,28 +358,28 @@ public class GameUI extends JFrame {
         JPanel currentPanel = new JPanel(new BorderLayout());
         currentPanel.setOpaque(false);
         currentPanel.setBorder(BorderFactory.createTitledBorder(
-                new LineBorder(new Color(144, 202, 249)),
+                new LineBorder(UiCache.color(144, 202, 249)),
                 "Current Player"
         ));
 
         currentPlayerLabel = new JLabel("Waiting...");
-        currentPlayerLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
-        currentPlayerLabel.setForeground(new Color(21, 101, 192));
+        currentPlayerLabel.setFont(UiCache.font("Segoe UI", Font.BOLD, 18));
+        currentPlayerLabel.setForeground(UiCache.color(21, 101, 192));
         currentPlayerLabel.setHorizontalAlignment(SwingConstants.CENTER);
         currentPanel.add(currentPlayerLabel, BorderLayout.CENTER);
 
         dicePanel = new JPanel(new BorderLayout());
-        dicePanel.setBackground(new Color(215, 227, 252));
-        dicePanel.setBorder(new LineBorder(new Color(25, 118, 210), 2, true));
+        dicePanel.setBackground(UiCache.color(215, 227, 252));
+        dicePanel.setBorder(new LineBorder(UiCache.color(25, 118, 210), 2, true));
         dicePanel.setPreferredSize(new Dimension(160, 120));
 
         JLabel diceTitle = new JLabel("Dice", SwingConstants.CENTER);
-        diceTitle.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        diceTitle.setForeground(new Color(25, 118, 210));
+        diceTitle.setFont(UiCache.font("Segoe UI", Font.PLAIN, 13));
+        diceTitle.setForeground(UiCache.color(25, 118, 210));
 
         diceResultLabel = new JLabel("-", SwingConstants.CENTER);
-        diceResultLabel.setFont(new Font("Consolas", Font.BOLD, 48));
-        diceResultLabel.setForeground(new Color(120, 144, 156));
+        diceResultLabel.setFont(UiCache.font("Consolas", Font.BOLD, 48));
+        diceResultLabel.setForeground(UiCache.color(120, 144, 156));
 
         dicePanel.add(diceTitle, BorderLayout.NORTH);
         dicePanel.add(diceResultLabel, BorderLayout.CENTER);
@@ -302,59 +394,86 @@ public class GameUI extends JFrame {
 
         JPanel bottomPanel = new JPanel(new BorderLayout(6, 6));
         bottomPanel.setOpaque(false);
+        bottomPanel.setPreferredSize(new Dimension(320, 216));
+
+        // players + scoreboard are built when the first game starts
+        playersHolder = bottomPanel;
 
-        playersInfoPanel = new JPanel();
-        playersInfoPanel.setBackground(new Color(225, 245, 254));
-        playersInfoPanel.setLayout(new BoxLayout(playersInfoPanel, BoxLayout.Y_AXIS));
+        panel.add(buttonsPanel, BorderLayout.NORTH);
+        panel.add(middlePanel, BorderLayout.CENTER);
+        panel.add(bottomPanel, BorderLayout.SOUTH);
 
-        JScrollPane playersScroll = new JScrollPane(playersInfoPanel);
+        return panel;
+    }
+
+    private void ensurePlayerPanels() {
+        if (playersList != null) return;
+
+        // one model for the player list, the ranked scoreboard has its own
+        playersList = new JList<>(playersModel);
+        playersList.setCellRenderer(new PlayerCellRenderer());
+        playersList.setBackground(UiCache.color(225, 245, 254));
+        playersList.setFocusable(false);
+
+        JScrollPane playersScroll = new JScrollPane(playersList);
         playersScroll.setPreferredSize(new Dimension(320, 130));
-        playersScroll.getViewport().setBackground(new Color(225, 245, 254));
-        playersScroll.setBorder(BorderFactory.createTitledBorder(new LineBorder(new Color(187, 222, 251)), "Players"));
+        playersScroll.getViewport().setBackground(UiCache.color(225, 245, 254));
+        playersScroll.setBorder(BorderFactory.createTitledBorder(new LineBorder(UiCache.color(187, 222, 251)), "Players"));
 
-        bottomPanel.add(playersScroll, BorderLayout.CENTER);
+        playersHolder.add(playersScroll, BorderLayout.CENTER);
 
-        scoreboardArea = new JTextArea();
-        scoreboardArea.setEditable(false);
-        scoreboardArea.setFont(new Font("Segoe UI", Font.BOLD, 13));
-        scoreboardArea.setForeground(new Color(25, 118, 210));
-        scoreboardArea.setBackground(new Color(227, 242, 253));
+        scoreboardList = new JList<>(scoreboardModel);
+        scoreboardList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                Player p = (Player) value;
+                int d = distTo64[Math.max(1, Math.min(64, p.getPosition()))];
+                String text = "#" + leaderboard.rank(p) + "  " + p.getName() + " : Node " + p.getPosition()
+                        + (d == Integer.MAX_VALUE ? "" : "  (" + d + " to 64)");
+                super.getListCellRendererComponent(list, text, index, false, false);
+                setFont(UiCache.font("Segoe UI", Font.BOLD, 13));
+                setForeground(UiCache.color(25, 118, 210));
+                setBackground(UiCache.color(227, 242, 253));
+                return this;
+            }
+        });
+        scoreboardList.setBackground(UiCache.color(227, 242, 253));
+        scoreboardList.setFocusable(false);
 
-        JScrollPane scoreboardScroll = new JScrollPane(scoreboardArea);
+        JScrollPane scoreboardScroll = new JScrollPane(scoreboardList);
         scoreboardScroll.setPreferredSize(new Dimension(320, 80));
-        scoreboardScroll.setBorder(BorderFactory.createTitledBorder(new LineBorder(new Color(187, 222, 251)), "Live Scoreboard"));
-
-        bottomPanel.add(scoreboardScroll, BorderLayout.SOUTH);
+        scoreboardScroll.setBorder(BorderFactory.createTitledBorder(new LineBorder(UiCache.color(187, 222, 251)), "Live Scoreboard"));
 
-        panel.add(buttonsPanel, BorderLayout.NORTH);
-        panel.add(middlePanel, BorderLayout.CENTER);
-        panel.add(bottomPanel, BorderLayout.SOUTH);
+        playersHolder.add(scoreboardScroll, BorderLayout.SOUTH);
 
-        return panel;
+        playersHolder.revalidate();
     }
 
     private JPanel createInfoTab() {
         JPanel panel = new JPanel(new BorderLayout(8, 8));
-        panel.setBackground(new Color(227, 242, 253));
+        panel.setBackground(UiCache.color(227, 242, 253));
         panel.setBorder(new EmptyBorder(10, 10, 10, 10));
 
         gameLogArea = new JTextArea();
         gameLogArea.setEditable(false);
         gameLogArea.setLineWrap(true);
         gameLogArea.setWrapStyleWord(true);
-        gameLogArea.setFont(new Font("Consolas", Font.PLAIN, 11));
-        gameLogArea.setBackground(new Color(232, 244, 253));
+        gameLogArea.setFont(UiCache.font("Consolas", Font.PLAIN, 11));
+        gameLogArea.setBackground(UiCache.color(232, 244, 253));
+        gameLogArea.setText(pendingLog.toString());
+        pendingLog.setLength(0);
 
         JScrollPane logScroll = new JScrollPane(gameLogArea);
-        logScroll.setBorder(BorderFactory.createTitledBorder(new LineBorder(new Color(187, 222, 251)), "Game Log"));
+        logScroll.setBorder(BorderFactory.createTitledBorder(new LineBorder(UiCache.color(187, 222, 251)), "Game Log"));
         panel.add(logScroll, BorderLayout.CENTER);
 
         JList<String> list = new JList<>(linksModel);
-        list.setFont(new Font("Consolas", Font.PLAIN, 12));
-        list.setBackground(new Color(232, 244, 253));
+        list.setFont(UiCache.font("Consolas", Font.PLAIN, 12));
+        list.setBackground(UiCache.color(232, 244, 253));
 
         JScrollPane listScroll = new JScrollPane(list);
-        listScroll.setBorder(BorderFactory.createTitledBorder(new LineBorder(new Color(187, 222, 251)), "Snakes & Ladders"));
+        listScroll.setBorder(BorderFactory.createTitledBorder(new LineBorder(UiCache.color(187, 222, 251)), "Snakes & Ladders"));
         listScroll.setPreferredSize(new Dimension(0, 160));
         panel.add(listScroll, BorderLayout.SOUTH);
 
@@ -372,7 +491,7 @@ public class GameUI extends JFrame {
                     GradientPaint gradient = new GradientPaint(0, 0, color1, 0, getHeight(), color2);
                     g2d.setPaint(gradient);
                 } else {
-                    g2d.setColor(new Color(189, 189, 189));
+                    g2d.setColor(UiCache.color(189, 189, 189));
                 }
 
                 g2d.fill(new RoundRectangle2D.Double(0, 0, getWidth(), getHeight(), 16, 16));
@@ -386,7 +505,7 @@ public class GameUI extends JFrame {
             }
         };
 
-        button.setFont(new Font("Segoe UI", Font.BOLD, 15));
+        button.setFont(UiCache.font("Segoe UI", Font.BOLD, 15));
         button.setForeground(Color.WHITE);
         button.setFocusPainted(false);
         button.setBorderPainted(false);
@@ -417,11 +536,11 @@ public class GameUI extends JFrame {
     private JPanel createStatusBar() {
         JPanel status = new JPanel(new BorderLayout());
         status.setBorder(new EmptyBorder(4, 8, 4, 8));
-        status.setBackground(new Color(227, 242, 253));
+        status.setBackground(UiCache.color(227, 242, 253));
 
         statusLabel = new JLabel("Ready – click START to begin");
-        statusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 11));
-        statusLabel.setForeground(new Color(25, 118, 210));
+        statusLabel.setFont(UiCache.font("Segoe UI", Font.PLAIN, 11));
+        statusLabel.setForeground(UiCache.color(25, 118, 210));
 
         status.add(statusLabel, BorderLayout.WEST);
         return status;
@@ -432,7 +551,10 @@ public class GameUI extends JFrame {
     // =========================================================
 
     private void resetBoard() {
-        if (isAnimating) return;
+        // a roll still being computed (or queued for the EDT) belongs to the old board
+        turns.cancel();
+        isAnimating = false;
+        installRightTabs();
 
         generateRandomLinks();
         gameBoard.setRandomLinks(randomLinks);
@@ -441,68 +563,20 @@ public class GameUI extends JFrame {
         gameBoard.repaint();
 
         for (Player p : players) p.setPosition(1);
+        playersModel.refreshPositions();
 
-        updatePlayersInfoPanel();
-        updateScoreboard();
-
-        if (gameLogArea != null) gameLogArea.setText("");
+        clearLog();
 
         gameStarted = false;
+        rescoreAll();
         playButton.setEnabled(true);
         rollDiceButton.setEnabled(false);
         currentPlayerLabel.setText("Waiting...");
         statusLabel.setText("Board reset – click START to begin new game");
 
         diceResultLabel.setText("-");
-        diceResultLabel.setForeground(new Color(120, 144, 156));
-        dicePanel.setBackground(new Color(215, 227, 252));
-    }
-
-    private void updatePlayersInfoPanel() {
-        playersInfoPanel.removeAll();
-
-        for (Player player : players) {
-            JPanel card = new JPanel(new BorderLayout(10, 0));
-            card.setMaximumSize(new Dimension(290, 40));
-            card.setBackground(new Color(225, 245, 254));
-            card.setBorder(new EmptyBorder(5, 10, 5, 10));
-
-            JPanel colorBox = new JPanel() {
-                @Override
-                protected void paintComponent(Graphics g) {
-                    super.paintComponent(g);
-                    Graphics2D g2d = (Graphics2D) g;
-                    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                    g2d.setColor(player.getColor());
-                    g2d.fillOval(5, 5, 20, 20);
-                    g2d.setColor(player.getColor().darker());
-                    g2d.setStroke(new BasicStroke(2));
-                    g2d.drawOval(5, 5, 20, 20);
-                }
-            };
-            colorBox.setPreferredSize(new Dimension(30, 30));
-            colorBox.setOpaque(false);
-
-            JLabel info = new JLabel(player.getName() + " - Node " + player.getPosition());
-            info.setFont(new Font("Segoe UI", Font.BOLD, 13));
-
-            card.add(colorBox, BorderLayout.WEST);
-            card.add(info, BorderLayout.CENTER);
-
-            playersInfoPanel.add(card);
-            playersInfoPanel.add(Box.createVerticalStrut(5));
-        }
-
-        playersInfoPanel.revalidate();
-        playersInfoPanel.repaint();
-    }
-
-    private void updateScoreboard() {
-        StringBuilder sb = new StringBuilder();
-        for (Player p : players) {
-            sb.append(p.getName()).append(" : Node ").append(p.getPosition()).append("\n");
-        }
-        scoreboardArea.setText(sb.toString());
+        diceResultLabel.setForeground(UiCache.color(120, 144, 156));
+        dicePanel.setBackground(UiCache.color(215, 227, 252));
     }
 
     private void startGame() {
@@ -522,6 +596,9 @@ public class GameUI extends JFrame {
             return;
         }
 
+        turns.cancel();
+        isAnimating = false;
+
         generateRandomLinks();
         gameBoard.setRandomLinks(randomLinks);
         gameBoard.setHighlightPath(null);
@@ -531,12 +608,12 @@ public class GameUI extends JFrame {
         players.clear();
 
         Color[] playerColors = {
-                new Color(244, 67, 54),
-                new Color(30, 136, 229),
-                new Color(67, 160, 71),
-                new Color(142, 36, 170),
-                new Color(251, 192, 45),
-                new Color(255, 112, 67)
+                UiCache.color(244, 67, 54),
+                UiCache.color(30, 136, 229),
+                UiCache.color(67, 160, 71),
+                UiCache.color(142, 36, 170),
+                UiCache.color(251, 192, 45),
+                UiCache.color(255, 112, 67)
         };
 
         for (int i = 0; i < numPlayers; i++) {
@@ -558,17 +635,34 @@ public class GameUI extends JFrame {
         gameBoard.setPlayers(players);
         gameBoard.repaint();
 
-        updatePlayersInfoPanel();
-        updateScoreboard();
+        ensurePlayerPanels();
+        playersModel.setPlayers(players);
+        leaderboard.clear();
+        rescoreAll();
 
-        gameLogArea.setText("");
+        clearLog();
         addLog("=== GAME STARTED ===");
         addLog("First turn: " + currentPlayer.getName());
         statusLabel.setText("Game started – " + currentPlayer.getName() + "'s turn");
 
         diceResultLabel.setText("-");
-        diceResultLabel.setForeground(new Color(120, 144, 156));
-        dicePanel.setBackground(new Color(215, 227, 252));
+        diceResultLabel.setForeground(UiCache.color(120, 144, 156));
+        dicePanel.setBackground(UiCache.color(215, 227, 252));
+    }
+
+    /** Outcome of one roll, computed off the EDT. */
+    private static final class RollPlan {
+        final int diceValue;
+        final List<Integer> primePath; // null = not on a prime node
+        final int landing;             // after the dice, before any link
+        final RandomLink hit;          // null = no link at landing
+
+        RollPlan(int diceValue, List<Integer> primePath, int landing, RandomLink hit) {
+            this.diceValue = diceValue;
+            this.primePath = primePath;
+            this.landing = landing;
+            this.hit = hit;
+        }
     }
 
     private void rollDice() {
@@ -577,48 +671,70 @@ public class GameUI extends JFrame {
         isAnimating = true;
         rollDiceButton.setEnabled(false);
 
-        int diceValue = random.nextInt(6) + 1;
-        diceResultLabel.setText(String.valueOf(diceValue));
+        // snapshot for the turn thread; generateRandomLinks replaces the matrix, it never edits an old one
+        Player player = currentPlayer;
+        int from = player.getPosition();
+        int[][] matrix = adjacencyMatrix;
+        List<RandomLink> links = new ArrayList<>(randomLinks);
 
-        boolean usePrimePath = isPrime(currentPlayer.getPosition());
-        if (usePrimePath) {
-            List<Integer> path = findShortestPath(currentPlayer.getPosition(), 64);
-            gameBoard.setHighlightPath(path);
-            gameBoard.repaint();
-            addLog("Prime node! Shortest path highlighted: " + path);
-        } else {
-            gameBoard.setHighlightPath(null);
-        }
+        turns.submit(() -> planRoll(from, matrix, links), plan -> applyRoll(player, plan), ex -> {
+            addLog("Roll failed: " + ex);
+            isAnimating = false;
+            rollDiceButton.setEnabled(true);
+        });
+    }
 
-        int oldPos = currentPlayer.getPosition();
-        int newPos = Math.min(64, oldPos + diceValue);
+    private RollPlan planRoll(int from, int[][] matrix, List<RandomLink> links) {
+        int diceValue = random.nextInt(6) + 1;
+        List<Integer> primePath = null;
+        if (isPrime(from)) {
+            long t = System.nanoTime();
+            primePath = findShortestPath(matrix, from, 64);
+            pathMicros.record((System.nanoTime() - t) / 1000);
+        }
+        int landing = Math.min(64, from + diceValue);
 
         // check snake/ladder (simple: apply if landing on from)
-        currentPlayer.setPosition(newPos);
         RandomLink hit = null;
-        for (RandomLink link : randomLinks) {
-            if (link.getFrom() == newPos) {
+        for (RandomLink link : links) {
+            if (link.getFrom() == landing) {
                 hit = link;
                 break;
             }
         }
+        return new RollPlan(diceValue, primePath, landing, hit);
+    }
+
+    private void applyRoll(Player player, RollPlan plan) {
+        diceResultLabel.setText(String.valueOf(plan.diceValue));
 
+        if (plan.primePath != null) {
+            gameBoard.setHighlightPath(plan.primePath);
+            gameBoard.repaint();
+            addLog("Prime node! Shortest path highlighted: " + plan.primePath);
+        } else {
+            gameBoard.setHighlightPath(null);
+        }
+
+        player.setPosition(plan.landing);
+        RandomLink hit = plan.hit;
         if (hit != null) {
             gameBoard.setTeleportEffect(hit);
             addLog("Hit " + (hit.isLadder() ? "Ladder" : "Snake") + ": " + hit.getFrom() + " -> " + hit.getTo());
-            currentPlayer.setPosition(hit.getTo());
+            player.setPosition(hit.getTo());
         } else {
             gameBoard.setTeleportEffect(null);
         }
 
         gameBoard.repaint();
-        updatePlayersInfoPanel();
-        updateScoreboard();
-
-        if (currentPlayer.getPosition() == 64) {
-            addLog(">>> " + currentPlayer.getName() + " wins! <<<");
-            statusLabel.setText(currentPlayer.getName() + " wins!");
-            JOptionPane.showMessageDialog(this, "CONGRATS! " + currentPlayer.getName() + " wins!", "Game Over", JOptionPane.INFORMATION_MESSAGE);
+        playersModel.playerMoved(player);
+        updateRanking(player);
+
+        if (player.getPosition() == 64) {
+            addLog(">>> " + player.getName() + " wins! <<<");
+            if (pathMicros.count() > 0) addLog("Path computation (us): " + pathMicros.summary());
+            statusLabel.setText(player.getName() + " wins!");
+            JOptionPane.showMessageDialog(this, "CONGRATS! " + player.getName() + " wins!", "Game Over", JOptionPane.INFORMATION_MESSAGE);
             gameStarted = false;
             playButton.setEnabled(true);
             rollDiceButton.setEnabled(false);
@@ -627,7 +743,7 @@ public class GameUI extends JFrame {
         }
 
         // next turn
-        playerQueue.add(currentPlayer);
+        playerQueue.add(player);
         currentPlayer = playerQueue.poll();
         currentPlayerLabel.setText(currentPlayer.getName());
         statusLabel.setText("Next: " + currentPlayer.getName());
@@ -637,10 +753,19 @@ public class GameUI extends JFrame {
     }
 
     private void addLog(String msg) {
+        if (gameLogArea == null) {
+            pendingLog.append(msg).append('\n');
+            return;
+        }
         gameLogArea.append(msg + "\n");
         gameLogArea.setCaretPosition(gameLogArea.getDocument().getLength());
     }
 
+    private void clearLog() {
+        pendingLog.setLength(0);
+        if (gameLogArea != null) gameLogArea.setText("");
+    }
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> new org.example.GameUI().setVisible(true));
     }
@@ -0,0 +1,140 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Same rules as GameUI.onRollDice, without Swing/AWT:
+ * green = forward (prime start -> shortest path to the last node), red = back along the steps stack,
+ * landing on a multiple of 5 -> double turn. Other variants come in as CompiledRules.
+ */
+public class HeadlessGame {
+    public static final int MAX_TURNS = 100_000;
+
+    private final CompiledRules rules;
+    private final int playerCount;
+
+    private final int[] position;
+    private final int[][] steps;     // history positions per player (stack)
+    private final int[] stepsSize;
+    private final ArrayDeque<Integer> turnQueue = new ArrayDeque<>();
+    private DiceSource dice;         // reseeded by play(seed)
+
+    private GameEventStream events;
+    private boolean emit;   // events attached and someone listening, checked once per turn
+    private int turn;
+
+    public HeadlessGame(BoardGraph graph, int playerCount) {
+        this(RuleConfig.DEFAULT.compile(graph), playerCount);
+    }
+
+    public HeadlessGame(CompiledRules rules, int playerCount) {
+        if (playerCount < 1) throw new IllegalArgumentException("playerCount < 1");
+        this.rules = rules;
+        this.playerCount = playerCount;
+        this.position = new int[playerCount];
+        this.steps = new int[playerCount][64];
+        this.stepsSize = new int[playerCount];
+    }
+
+    public void setEvents(GameEventStream events) {
+        this.events = events;
+    }
+
+    public GameResult play(long seed) {
+        if (dice == null) dice = new DiceSource(seed, rules.greenOdds);
+        else dice.reseed(seed);
+        return play(seed, dice);
+    }
+
+    /** Rolls come from `source` (seed is only reported), e.g. a replay of recorded rolls. */
+    public GameResult play(long seed, DiceSource source) {
+        int target = rules.target;
+        source.setGreenOdds(rules.greenOdds);
+        turnQueue.clear();
+        for (int i = 0; i < playerCount; i++) {
+            position[i] = 1;
+            steps[i][0] = 1;
+            stepsSize[i] = 1;
+            turnQueue.addLast(i);
+        }
+
+        int backward = 0, doubles = 0;
+        turn = 0;
+        while (turn < MAX_TURNS) {
+            int p = turnQueue.pollFirst();
+            turn++;
+            emit = events != null && events.isActive();
+            if (emit) events.publish(GameEvent.turn(turn, p, position[p]));
+
+            int roll = source.next();
+            int value = DiceSource.value(roll);
+            boolean green = DiceSource.green(roll);
+
+            if (green) {
+                if (emit) events.publish(GameEvent.roll(turn, p, position[p], value, true, rules.primeStart(position[p])));
+                for (int node : rules.forward(position[p], value)) push(p, node);
+                if (position[p] >= target) {
+                    if (emit) events.publish(GameEvent.win(turn, p, position[p]));
+                    return new GameResult(seed, playerCount, turn, p, backward, doubles);
+                }
+            } else {
+                if (emit) events.publish(GameEvent.roll(turn, p, position[p], value, false, false));
+                backward++;
+                moveBackward(p, value);
+            }
+
+            if (rules.isDoubleTurn(position[p])) {
+                doubles++;
+                if (emit) events.publish(GameEvent.doubleTurn(turn, p, position[p]));
+                turnQueue.addFirst(p);
+            } else {
+                turnQueue.addLast(p);
+            }
+        }
+        return new GameResult(seed, playerCount, turn, -1, backward, doubles);
+    }
+
+    /**
+     * Rolls a lone player (seat 0) needs to reach the target, starting from the steps stack `history`
+     * (last entry = position), or limit + 1 if it takes longer. No events.
+     */
+    public int soloRollsFrom(int[] history, DiceSource source, int limit) {
+        source.setGreenOdds(rules.greenOdds);
+        emit = false;
+        if (steps[0].length < history.length) steps[0] = new int[history.length * 2];
+        System.arraycopy(history, 0, steps[0], 0, history.length);
+        stepsSize[0] = history.length;
+        position[0] = history[history.length - 1];
+        if (position[0] >= rules.target) return 0;
+
+        for (int rolls = 1; rolls <= limit; rolls++) {
+            int roll = source.next();
+            if (DiceSource.green(roll)) {
+                for (int node : rules.forward(position[0], DiceSource.value(roll))) push(0, node);
+                if (position[0] >= rules.target) return rolls;
+            } else {
+                moveBackward(0, DiceSource.value(roll));
+            }
+        }
+        return limit + 1;
+    }
+
+    public int getPosition(int player) {
+        return position[player];
+    }
+
+    private void moveBackward(int p, int dice) {
+        for (int i = 0; i < dice && stepsSize[p] > 1; i++) {
+            int from = position[p];
+            stepsSize[p]--;
+            position[p] = steps[p][stepsSize[p] - 1];
+            if (emit) events.publish(GameEvent.move(turn, p, from, position[p]));
+        }
+    }
+
+    private void push(int p, int pos) {
+        if (stepsSize[p] == steps[p].length) steps[p] = Arrays.copyOf(steps[p], stepsSize[p] * 2);
+        steps[p][stepsSize[p]++] = pos;
+        if (emit) events.publish(GameEvent.move(turn, p, position[p], pos));
+        position[p] = pos;
+    }
+}
@@ -0,0 +1,94 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * How good each cell is for one board and rule set: the chance that a lone player standing there
+ * reaches the last node within k rolls, and the mean number of rolls it takes. Monte Carlo with
+ * HeadlessGame.soloRollsFrom, so prime starts, links, exact finish and stack-based backward moves
+ * are the same as in a game. The player is assumed to have come along a shortest path from node 1,
+ * which is what a red roll walks back over.
+ *
+ * Cells are simulated in parallel, one task per cell, on low-priority threads that leave a core
+ * for the EDT. Each cell uses its own seed (board fingerprint, cell), so the numbers are stable.
+ * Cancelling the returned future stops the cell tasks too: they check it between samples.
+ */
+public class Heatmap {
+
+    public static final int SAMPLES = 2000;
+    static final int LIMIT = 10_000; // rolls; slower samples count as LIMIT + 1
+
+    private static ForkJoinPool pool;
+
+    public final long fingerprint;
+    public final int k;
+    public final double[] reachWithinK;   // [cell], 1..n
+    public final double[] expectedRolls;  // [cell], 1..n
+    public final long computeNanos;
+
+    private Heatmap(long fingerprint, int k, double[] reachWithinK, double[] expectedRolls, long computeNanos) {
+        this.fingerprint = fingerprint;
+        this.k = k;
+        this.reachWithinK = reachWithinK;
+        this.expectedRolls = expectedRolls;
+        this.computeNanos = computeNanos;
+    }
+
+    private static synchronized ForkJoinPool pool() {
+        if (pool == null) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            pool = new ForkJoinPool(threads, p -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                t.setName("heatmap-" + t.getPoolIndex());
+                t.setPriority(Thread.MIN_PRIORITY);
+                t.setDaemon(true);
+                return t;
+            }, null, false);
+        }
+        return pool;
+    }
+
+    /** Starts the simulation; the graph must not change while it runs. cancel() stops it. */
+    public static CompletableFuture<Heatmap> compute(BoardGraph graph, CompiledRules rules, int k, int samples) {
+        long start = System.nanoTime();
+        int n = graph.N;
+        long fingerprint = graph.fingerprint();
+        // one BFS from node 1 for every cell: the shortest path v..1, walked back as the history 1..v
+        int[] towardsStart = graph.stepsTowards(graph.distancesTo(1));
+        int[][] histories = new int[n + 1][];
+        for (int v = 1; v <= n; v++) {
+            List<Integer> path = new ArrayList<>(BoardGraph.walk(towardsStart, v, 1));
+            Collections.reverse(path);
+            histories[v] = path.isEmpty() ? new int[]{v} : RuleConfig.toArray(path);
+        }
+
+        CompletableFuture<Heatmap> result = new CompletableFuture<>();
+        double[] reach = new double[n + 1], expected = new double[n + 1];
+        CompletableFuture<?>[] cells = new CompletableFuture<?>[n];
+        for (int v = 1; v <= n; v++) {
+            int cell = v;
+            cells[v - 1] = CompletableFuture.runAsync(() -> {
+                HeadlessGame solo = new HeadlessGame(rules, 1);
+                DiceSource dice = new DiceSource(fingerprint * 31 + cell, rules.greenOdds);
+                long within = 0, sum = 0;
+                for (int i = 0; i < samples; i++) {
+                    if ((i & 63) == 0 && result.isDone()) return; // cancelled, or another cell failed
+                    int rolls = solo.soloRollsFrom(histories[cell], dice, LIMIT);
+                    if (rolls <= k) within++;
+                    sum += rolls;
+                }
+                reach[cell] = (double) within / samples;
+                expected[cell] = (double) sum / samples;
+            }, pool());
+        }
+        // allOf happens-after every cell task, so the arrays are safe to read here
+        CompletableFuture.allOf(cells).whenComplete((x, ex) -> {
+            if (ex != null) result.completeExceptionally(ex);
+            else result.complete(new Heatmap(fingerprint, k, reach, expected, System.nanoTime() - start));
+        });
+        return result;
+    }
+}
@@ -0,0 +1,122 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranked players with integer scores in [0, maxScore] (higher is better), kept in a Fenwick tree
+ * over the score range: update and rank are O(log maxScore) no matter how many players there are,
+ * topK is O(k + distinct scores * log maxScore). Equal scores share a rank (1, 2, 2, 4).
+ */
+public class Leaderboard<T> {
+
+    public interface RankListener<T> {
+        /**
+         * Fired for the player that moved. Everyone whose score lies strictly between the old and
+         * the new score shifted by one place the other way.
+         */
+        void rankChanged(T item, int oldRank, int newRank);
+    }
+
+    private final int maxScore;
+    private final int[] tree;                       // Fenwick over score + 1
+    private final Map<T, Integer> scores = new IdentityHashMap<>();
+    private final Map<Integer, LinkedHashSet<T>> buckets = new HashMap<>();
+    private final List<RankListener<T>> listeners = new ArrayList<>();
+
+    public Leaderboard(int maxScore) {
+        this.maxScore = maxScore;
+        this.tree = new int[maxScore + 2];
+    }
+
+    public void addListener(RankListener<T> l) {
+        listeners.add(l);
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    public void clear() {
+        scores.clear();
+        buckets.clear();
+        Arrays.fill(tree, 0);
+    }
+
+    /** Adds the item or moves it to a new score. */
+    public void update(T item, int score) {
+        if (score < 0 || score > maxScore) throw new IllegalArgumentException("score out of range: " + score);
+        Integer old = scores.get(item);
+        if (old != null && old == score) return;
+
+        int oldRank = old == null ? -1 : rank(item);
+        if (old != null) {
+            add(old, -1);
+            LinkedHashSet<T> b = buckets.get(old);
+            b.remove(item);
+            if (b.isEmpty()) buckets.remove(old);
+        }
+        scores.put(item, score);
+        add(score, 1);
+        buckets.computeIfAbsent(score, k -> new LinkedHashSet<>()).add(item);
+
+        if (old != null) {
+            int newRank = rank(item);
+            if (newRank != oldRank) {
+                for (RankListener<T> l : listeners) l.rankChanged(item, oldRank, newRank);
+            }
+        }
+    }
+
+    /** 1-based, -1 if unknown. */
+    public int rank(T item) {
+        Integer s = scores.get(item);
+        if (s == null) return -1;
+        return 1 + scores.size() - prefix(s); // 1 + number of strictly better scores
+    }
+
+    /** Best k items, best first; ties in the order they reached that score. */
+    public List<T> topK(int k) {
+        List<T> out = new ArrayList<>(Math.min(k, scores.size()));
+        int seen = 0;
+        while (out.size() < k && seen < scores.size()) {
+            int score = scoreOfNth(scores.size() - seen); // the (seen+1)-th best counted from the bottom
+            LinkedHashSet<T> b = buckets.get(score);
+            for (T t : b) {
+                if (out.size() == k) break;
+                out.add(t);
+            }
+            seen += b.size();
+        }
+        return out;
+    }
+
+    private void add(int score, int delta) {
+        for (int i = score + 1; i < tree.length; i += i & -i) tree[i] += delta;
+    }
+
+    /** Number of items with score <= s. */
+    private int prefix(int s) {
+        int sum = 0;
+        for (int i = s + 1; i > 0; i -= i & -i) sum += tree[i];
+        return sum;
+    }
+
+    /** Smallest score whose prefix count reaches n (n-th item from the bottom). */
+    private int scoreOfNth(int n) {
+        int pos = 0;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next < tree.length && tree[next] < n) {
+                pos = next;
+                n -= tree[next];
+            }
+        }
+        return pos; // tree index pos + 1 holds score pos
+    }
+}
@@ -0,0 +1,52 @@
+package org.example;
+
+import javax.swing.AbstractListModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Top k rows of a Leaderboard. refresh() diffs against the rows shown and fires per changed row. */
+public class LeaderboardListModel<T> extends AbstractListModel<T> {
+
+    private final Leaderboard<T> leaderboard;
+    private final int k;
+    private List<T> rows = new ArrayList<>();
+
+    public LeaderboardListModel(Leaderboard<T> leaderboard, int k) {
+        this.leaderboard = leaderboard;
+        this.k = k;
+    }
+
+    @Override
+    public int getSize() {
+        return rows.size();
+    }
+
+    @Override
+    public T getElementAt(int i) {
+        return rows.get(i);
+    }
+
+    /** After a change that touches every row (new board, reset). */
+    public void refreshAll() {
+        int oldSize = rows.size();
+        if (oldSize > 0) {
+            rows = new ArrayList<>(); // listeners must see the rows gone before the new ones arrive
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        rows = leaderboard.topK(k);
+        if (!rows.isEmpty()) fireIntervalAdded(this, 0, rows.size() - 1);
+    }
+
+    /** moved = item whose own row text changed (may be null). */
+    public void refresh(T moved) {
+        List<T> old = rows;
+        rows = leaderboard.topK(k);
+
+        int common = Math.min(old.size(), rows.size());
+        for (int i = 0; i < common; i++) {
+            if (old.get(i) != rows.get(i) || rows.get(i) == moved) fireContentsChanged(this, i, i);
+        }
+        if (rows.size() > old.size()) fireIntervalAdded(this, old.size(), rows.size() - 1);
+        else if (rows.size() < old.size()) fireIntervalRemoved(this, rows.size(), old.size() - 1);
+    }
+}
@@ -0,0 +1,188 @@
+package org.example;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of non-negative longs (game lengths, nanoseconds, ...), HDR style:
+ * values below 2^precisionBits are counted exactly, larger ones in buckets whose width is at most
+ * 1 / 2^(precisionBits-1) of their value. Memory is fixed by (maxValue, precisionBits), not by the
+ * number of samples; values above maxValue are counted in the top bucket (max() stays exact).
+ *
+ * record() is lock-free and may be called from any number of threads. Histograms with the same
+ * layout merge by adding counts; encode() is a few bytes per non-empty bucket.
+ */
+public class LogHistogram {
+
+    private static final byte FORMAT = 1;
+
+    private final long maxValue;
+    private final int precisionBits;
+    private final int sub;            // 2^precisionBits
+    private final AtomicLongArray counts;
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /** precisionBits 8 -> values up to 255 exact, others within 0.8%. */
+    public LogHistogram(long maxValue, int precisionBits) {
+        if (maxValue < 1) throw new IllegalArgumentException("maxValue must be >= 1");
+        if (precisionBits < 2 || precisionBits > 16) throw new IllegalArgumentException("precisionBits must be 2..16");
+        this.maxValue = maxValue;
+        this.precisionBits = precisionBits;
+        this.sub = 1 << precisionBits;
+        this.counts = new AtomicLongArray(index(maxValue) + 1);
+    }
+
+    private int index(long v) {
+        if (v < sub) return (int) v;
+        int shift = 64 - Long.numberOfLeadingZeros(v) - precisionBits; // >= 1
+        return shift * (sub >> 1) + (int) (v >>> shift);
+    }
+
+    /** Largest value that lands in bucket i. */
+    private long highestInBucket(int i) {
+        if (i < sub) return i;
+        int shift = i / (sub >> 1) - 1;
+        long mantissa = i - shift * (long) (sub >> 1);
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    public void record(long value) {
+        if (value < 0) throw new IllegalArgumentException("negative value " + value);
+        counts.incrementAndGet(index(Math.min(value, maxValue)));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+        // plain reads first: once warmed up, min/max almost never change
+        if (value < min.get()) min.accumulateAndGet(value, Math::min);
+        if (value > max.get()) max.accumulateAndGet(value, Math::max);
+    }
+
+    /** Adds other's samples to this one. Same maxValue and precision required. */
+    public void add(LogHistogram other) {
+        checkLayout(other.maxValue, other.precisionBits);
+        for (int i = 0; i < other.counts.length(); i++) {
+            long c = other.counts.get(i);
+            if (c != 0) counts.addAndGet(i, c);
+        }
+        total.addAndGet(other.total.get());
+        sum.addAndGet(other.sum.get());
+        min.accumulateAndGet(other.min.get(), Math::min);
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    private void checkLayout(long otherMax, int otherBits) {
+        if (otherMax != maxValue || otherBits != precisionBits) {
+            throw new IllegalArgumentException("histogram layouts differ");
+        }
+    }
+
+    public long count() {
+        return total.get();
+    }
+
+    public long min() {
+        return total.get() == 0 ? 0 : min.get();
+    }
+
+    public long max() {
+        return total.get() == 0 ? 0 : max.get();
+    }
+
+    public double mean() {
+        long n = total.get();
+        return n == 0 ? Double.NaN : (double) sum.get() / n;
+    }
+
+    /** Smallest recorded-bucket value v with at least p% of samples <= v (p in 0..100); 0 if empty. */
+    public long percentile(double p) {
+        long n = total.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.max(min(), Math.min(highestInBucket(i), max()));
+        }
+        return max();
+    }
+
+    /** "p50=.. p90=.. p99=.. max=.. n=.." */
+    public String summary() {
+        return "p50=" + percentile(50) + " p90=" + percentile(90) + " p99=" + percentile(99)
+                + " max=" + max() + " n=" + count();
+    }
+
+    // format: FORMAT, precisionBits, then varints maxValue, total, sum, min, max,
+    // then (zero buckets skipped, count) varint pairs for every non-empty bucket
+
+    public byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(FORMAT);
+        out.write(precisionBits);
+        writeVarLong(out, maxValue);
+        writeVarLong(out, total.get());
+        writeVarLong(out, sum.get());
+        writeVarLong(out, min());
+        writeVarLong(out, max());
+        int last = -1;
+        for (int i = 0; i < counts.length(); i++) {
+            long c = counts.get(i);
+            if (c == 0) continue;
+            writeVarLong(out, i - last - 1);
+            writeVarLong(out, c);
+            last = i;
+        }
+        return out.toByteArray();
+    }
+
+    public static LogHistogram decode(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (in.get() != FORMAT) throw new IllegalArgumentException("unknown histogram format");
+        int bits = in.get();
+        LogHistogram h = new LogHistogram(readVarLong(in), bits);
+        long n = readVarLong(in);
+        h.total.set(n);
+        h.sum.set(readVarLong(in));
+        long mn = readVarLong(in), mx = readVarLong(in);
+        if (n > 0) {
+            h.min.set(mn);
+            h.max.set(mx);
+        }
+        int i = -1;
+        while (in.hasRemaining()) {
+            i += (int) readVarLong(in) + 1;
+            h.counts.set(i, readVarLong(in));
+        }
+        return h;
+    }
+
+    public String toBase64() {
+        return Base64.getEncoder().withoutPadding().encodeToString(encode());
+    }
+
+    public static LogHistogram fromBase64(String s) {
+        return decode(Base64.getDecoder().decode(s));
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7fL) != 0) {
+            out.write((int) ((v & 0x7f) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long v = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            v |= (long) (b & 0x7f) << shift;
+            if (b >= 0) return v;
+        }
+    }
+}
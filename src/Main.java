@@ -1,7 +1,36 @@
 import javax.swing.SwingUtilities;
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
 
 public class Main {
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> new GameUI().show());
+        String mode = args.length > 0 ? args[0] : "";
+        String[] rest = args.length > 0 ? Arrays.copyOfRange(args, 1, args.length) : args;
+        switch (mode) {
+            case "--batch": headless(BatchRunner::run, rest); break;
+            case "--stats": headless(StatsRunner::run, rest); break;
+            case "--spectate": headless(SpectatorClient::run, rest); break;
+            case "--tournament": headless(Tournament::run, rest); break;
+            case "--sweep": headless(Sweep::run, rest); break;
+            case "--shards": headless(ShardCoordinator::run, rest); break;
+            case "--worker": headless(ShardWorker::run, rest); break;
+            case "--tables": windowed(MultiTableUI::run, rest); break;
+            case "--replay": windowed(ReplayViewer::run, rest); break;
+            default: SwingUtilities.invokeLater(() -> new GameUI().show());
+        }
+    }
+
+    /** Command-line tools: no AWT classes are touched on these paths. */
+    private static void headless(ToIntFunction<String[]> tool, String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        System.exit(tool.applyAsInt(args));
+    }
+
+    /** Opens a window unless --bench; the EDT keeps the JVM alive after run() returns. */
+    private static void windowed(ToIntFunction<String[]> tool, String[] args) {
+        boolean bench = Arrays.asList(args).contains("--bench");
+        if (bench) System.setProperty("java.awt.headless", "true");
+        int status = tool.applyAsInt(args);
+        if (status != 0 || bench) System.exit(status);
     }
 }
@@ -0,0 +1,289 @@
+import org.example.LogHistogram;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Several tables in one window (community-event mode), all sharing one TableHub: one animation
+ * clock, one board renderer, one compute thread, one audio mixer. Each table is a single TableView.
+ *
+ * Usage: --tables [--count 4] [--players 4] [--auto]
+ *        --tables --bench [--sizes 1,10,50] [--ticks 600] [--cell 24]
+ * (or java MultiTableUI with the same options, without --tables)
+ * --bench runs headless: for each table count it measures retained heap per table, EDT time per
+ * clock tick (step + paint of every table that moved) and process CPU per table per tick, next to
+ * the heap of the same number of classic 8x8 boards of 64 CellPanels each. Every row uses the same
+ * cell size and has the heap of an empty hub subtracted, so KB/table is what one more table costs.
+ */
+public class MultiTableUI {
+
+    public static final String USAGE = "usage: --tables [--count 4] [--players 4] [--auto]"
+            + " | --tables --bench [--sizes 1,10,50] [--ticks 600] [--cell 24]";
+
+    private static final String[] SPEED_NAMES = {"250 ms", "100 ms", "30 ms", "turbo"};
+    private static final int[] SPEEDS = {250, 100, 30, 1};
+
+    private final JFrame frame = new JFrame("Multi-table");
+    private final TableHub hub = new TableHub(SPEEDS[0]);
+    private final JPanel grid = new JPanel();
+    private final JCheckBox autoBox = new JCheckBox("Auto");
+    private final JLabel countLabel = new JLabel();
+    private final int players;
+
+    public MultiTableUI(int players, boolean auto) {
+        this.players = players;
+        autoBox.setSelected(auto);
+    }
+
+    public void show(int count) {
+        JButton add = new JButton("+ Meja");
+        JButton remove = new JButton("- Meja");
+        JButton newGames = new JButton("Game baru semua");
+        JComboBox<String> speed = new JComboBox<>(SPEED_NAMES);
+        add.addActionListener(e -> addTables(1));
+        remove.addActionListener(e -> {
+            List<TableView> tables = hub.tables();
+            if (tables.isEmpty()) return;
+            TableView last = tables.get(tables.size() - 1);
+            hub.remove(last);
+            grid.remove(last);
+            relayout();
+        });
+        newGames.addActionListener(e -> hub.tables().forEach(TableView::newGame));
+        autoBox.addActionListener(e -> hub.tables().forEach(t -> t.setAuto(autoBox.isSelected())));
+        speed.addActionListener(e -> hub.setStepMs(SPEEDS[speed.getSelectedIndex()]));
+
+        JPanel bar = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        bar.add(add);
+        bar.add(remove);
+        bar.add(newGames);
+        bar.add(autoBox);
+        bar.add(new JLabel("Langkah:"));
+        bar.add(speed);
+        bar.add(countLabel);
+
+        frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        frame.setLayout(new BorderLayout());
+        frame.add(bar, BorderLayout.NORTH);
+        frame.add(new JScrollPane(grid), BorderLayout.CENTER);
+        frame.setSize(1280, 860);
+        frame.setLocationRelativeTo(null);
+
+        addTables(count);
+        hub.start();
+        frame.setVisible(true);
+    }
+
+    private void addTables(int n) {
+        for (int i = 0; i < n; i++) {
+            int number = hub.tables().size() + 1;
+            TableView t = new TableView(hub, "Meja " + number, players, System.nanoTime() + number, autoBox.isSelected());
+            hub.add(t);
+            grid.add(t);
+        }
+        relayout();
+    }
+
+    private void relayout() {
+        int n = hub.tables().size();
+        int cols = Math.max(1, (int) Math.ceil(Math.sqrt(n)));
+        hub.setCellSize(cellSizeFor(n));
+        grid.setLayout(new GridLayout(0, cols, 6, 6));
+        countLabel.setText(n + " meja");
+        grid.revalidate();
+        grid.repaint();
+    }
+
+    /** Smaller boards as the room fills up. */
+    static int cellSizeFor(int tables) {
+        if (tables <= 1) return 64;
+        if (tables <= 4) return 40;
+        if (tables <= 12) return 24;
+        return 14;
+    }
+
+    /** Same as Main --tables; needs nothing from the classic UI. */
+    public static void main(String[] args) {
+        boolean bench = Arrays.asList(args).contains("--bench");
+        if (bench) System.setProperty("java.awt.headless", "true");
+        int status = run(args);
+        if (status != 0 || bench) System.exit(status);
+    }
+
+    public static int run(String[] args) {
+        int count = 4, players = 4, ticks = 600, cell = 24;
+        boolean auto = false, bench = false;
+        int[] sizes = {1, 10, 50};
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String a = args[i];
+                if (a.equals("--auto")) {
+                    auto = true;
+                    continue;
+                }
+                if (a.equals("--bench")) {
+                    bench = true;
+                    continue;
+                }
+                if (i + 1 >= args.length) throw new IllegalArgumentException("missing value for " + a);
+                String v = args[++i];
+                switch (a) {
+                    case "--count": count = Integer.parseInt(v); break;
+                    case "--players": players = Integer.parseInt(v); break;
+                    case "--ticks": ticks = Integer.parseInt(v); break;
+                    case "--cell": cell = Integer.parseInt(v); break;
+                    case "--sizes": sizes = Arrays.stream(v.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray(); break;
+                    default: throw new IllegalArgumentException("unknown option " + a);
+                }
+            }
+            if (players < 1 || players > 6) throw new IllegalArgumentException("players must be 1..6");
+            if (count < 1) throw new IllegalArgumentException("count must be >= 1");
+            if (cell < 8 || cell > 128) throw new IllegalArgumentException("cell must be 8..128");
+            for (int n : sizes) if (n < 1) throw new IllegalArgumentException("sizes must be >= 1");
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        if (bench) return bench(sizes, players, ticks, cell);
+        int c = count, p = players;
+        boolean au = auto;
+        SwingUtilities.invokeLater(() -> new MultiTableUI(p, au).show(c));
+        return 0;
+    }
+
+    // ---- benchmark (headless) ----
+
+    private static int bench(int[] sizes, int players, int ticks, int cell) {
+        RepaintManager.currentManager(null).setDoubleBufferingEnabled(false);
+        try {
+            benchOne(1, players, 50, cell); // class loading, first tiles, fonts
+            // the hub itself (renderer tiles at this cell size, mixer, threads) is not per-table cost
+            long hub = benchOne(0, players, ticks, cell)[1];
+            System.out.printf("cell %d px, empty hub %.1f KB (subtracted below)%n", cell, hub / 1024.0);
+            System.out.printf("%6s %10s %10s %12s %10s %10s %10s %12s %8s%n", "tables", "heap KB", "KB/table",
+                    "marginal KB", "tick p50", "tick p99", "cpu us/t", "classic KB/t", "games");
+            long[] previous = {0, 0};
+            for (int n : sizes) {
+                long[] row = benchOne(n, players, ticks, cell);
+                long retained = row[1] - hub;
+                String marginal = previous[0] == n ? "-"
+                        : String.format("%.1f", (retained - previous[1]) / 1024.0 / (n - previous[0]));
+                System.out.printf("%6d %10d %10.1f %12s %10d %10d %10.1f %12.1f %8d%n", n, retained / 1024,
+                        retained / 1024.0 / n, marginal, row[2], row[3], row[4] / 1000.0 / ticks / n,
+                        row[5] / 1024.0 / n, row[6]);
+                previous = new long[]{n, retained};
+            }
+        } catch (Exception e) {
+            System.err.println("bench failed: " + e);
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * n tables on one hub at a fixed cell size (the tile cache grows with it, so it must not change
+     * between rows). Returns {n, retained heap incl. hub, tick p50 us, tick p99 us, cpu ns,
+     * classic boards heap, games}; n = 0 measures the bare hub with its board painted once.
+     */
+    private static long[] benchOne(int n, int players, int ticks, int cell) throws Exception {
+        long before = settledHeap();
+        TableHub hub = new TableHub(1);
+        List<TableView> tables = new ArrayList<>();
+        SwingUtilities.invokeAndWait(() -> {
+            hub.setCellSize(cell);
+            for (int i = 0; i < n; i++) {
+                TableView t = new TableView(hub, "Meja " + (i + 1), players, 1000 + i, true);
+                hub.add(t);
+                tables.add(t);
+                t.setSize(t.getPreferredSize());
+            }
+        });
+        boolean[] ready = {false};
+        while (!ready[0]) {
+            Thread.sleep(5);
+            SwingUtilities.invokeAndWait(() -> ready[0] = tables.stream().allMatch(TableView::isReady));
+        }
+
+        Dimension size = hub.board.getPreferredSize();
+        BufferedImage img = new BufferedImage(size.width, size.height + TableView.HEADER, BufferedImage.TYPE_INT_RGB);
+        SwingUtilities.invokeAndWait(() -> {
+            Graphics2D g = img.createGraphics();
+            hub.board.paint(g, new Rectangle(size));
+            g.dispose();
+        });
+        LogHistogram tickMicros = new LogHistogram(60_000_000, 8);
+        java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        long cpu0 = ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        for (int i = 0; i < ticks && n > 0; i++) {
+            SwingUtilities.invokeAndWait(() -> {
+                long t0 = System.nanoTime();
+                for (TableView t : tables) {
+                    if (!t.tick()) continue;
+                    Graphics2D g = img.createGraphics();
+                    t.paint(g);
+                    g.dispose();
+                }
+                tickMicros.record((System.nanoTime() - t0) / 1000);
+            });
+        }
+        long cpu = ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime() - cpu0;
+        int games = tables.stream().mapToInt(TableView::games).sum();
+        long retained = settledHeap() - before;
+        Reference.keep(new Object[]{hub, tables, img});
+
+        SwingUtilities.invokeAndWait(hub::shutdown);
+        tables.clear();
+        Reference.keep(null);
+        long classic = n == 0 ? 0 : classicBoardsHeap(n, players);
+        return new long[]{n, retained, tickMicros.percentile(50), tickMicros.percentile(99), cpu, classic, games};
+    }
+
+    /** Heap of n boards built like GameUI.buildUI: a GridLayout panel of 64 CellPanels plus players. */
+    private static long classicBoardsHeap(int n, int players) throws Exception {
+        long before = settledHeap();
+        List<JPanel> boards = new ArrayList<>();
+        SwingUtilities.invokeAndWait(() -> {
+            for (int b = 0; b < n; b++) {
+                JPanel board = new JPanel(new GridLayout(8, 8, 2, 2));
+                List<Player> seats = new ArrayList<>();
+                for (int p = 0; p < players; p++) seats.add(new Player("Player " + (p + 1), Color.BLUE));
+                for (int i = 1; i <= 64; i++) {
+                    CellPanel c = new CellPanel(i);
+                    if (i == 1) c.setOccupants(seats);
+                    board.add(c);
+                }
+                board.setSize(8 * 80, 8 * 80);
+                board.doLayout();
+                boards.add(board);
+            }
+        });
+        long used = settledHeap() - before;
+        Reference.keep(boards);
+        return used;
+    }
+
+    private static long settledHeap() throws InterruptedException {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    /** Keeps a measured object graph reachable until after the heap was read. */
+    private static final class Reference {
+        static volatile Object last;
+
+        static void keep(Object o) {
+            last = o;
+        }
+    }
+}
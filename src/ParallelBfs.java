@@ -0,0 +1,190 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Direction-optimizing BFS (Beamer et al.) on a CsrGraph, run on a fork-join pool.
+ * Frontier, next frontier and visited set are bitsets over long[]. A level is expanded top-down
+ * (frontier pushes to neighbours) while the frontier is small, and bottom-up (every unvisited node
+ * looks for a neighbour in the frontier) once the frontier's edges outweigh the unvisited ones.
+ *
+ * Distances are identical to serialDistances; parents use the same canonical rule in both
+ * (lowest-numbered neighbour on the previous level), so the whole result does not depend on thread count.
+ */
+public class ParallelBfs {
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private static final int LEAF_WORDS = 256; // 16k nodes per leaf task
+    private static final int ALPHA = 14;       // top-down -> bottom-up when frontierEdges > unvisitedEdges / ALPHA
+    private static final int BETA = 24;        // bottom-up -> top-down when frontier < n / BETA
+
+    /** Plain top-down queue BFS, the reference. dist[v] = edges from source, -1 = unreachable. */
+    public static int[] serialDistances(CsrGraph g, int source) {
+        int[] dist = new int[g.n + 1];
+        Arrays.fill(dist, -1);
+        int[] queue = new int[g.n];
+        int head = 0, tail = 0;
+        dist[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int k = g.offsets[u]; k < g.offsets[u + 1]; k++) {
+                int v = g.targets[k];
+                if (dist[v] == -1) {
+                    dist[v] = dist[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return dist;
+    }
+
+    public static int[] distances(CsrGraph g, int source, ForkJoinPool pool) {
+        int words = (g.n >>> 6) + 1; // bit v for node v, bit 0 unused
+        int[] dist = new int[g.n + 1];
+        Arrays.fill(dist, -1);
+        dist[source] = 0;
+
+        long[] frontier = new long[words];
+        long[] next = new long[words];
+        long[] visited = new long[words];
+        // node 0 and the bits past n count as visited, so no step has to range-check them
+        visited[0] |= 1L;
+        int tailBits = (g.n + 1) & 63;
+        if (tailBits != 0) visited[words - 1] |= -1L << tailBits;
+
+        frontier[source >>> 6] |= 1L << source;
+        visited[source >>> 6] |= 1L << source;
+
+        long unvisitedEdges = g.targets.length - g.degree(source);
+        long frontierEdges = g.degree(source);
+        long frontierSize = 1;
+        boolean bottomUp = false;
+
+        for (int level = 0; frontierSize > 0; level++) {
+            if (!bottomUp && frontierEdges > unvisitedEdges / ALPHA) bottomUp = true;
+            else if (bottomUp && frontierSize < g.n / BETA) bottomUp = false;
+
+            Arrays.fill(next, 0L);
+            long[] r = pool.invoke(new Step(g, dist, frontier, next, visited, level + 1, bottomUp, 0, words));
+
+            frontierSize = r[0];
+            frontierEdges = r[1];
+            unvisitedEdges -= r[1];
+
+            long[] t = frontier;
+            frontier = next;
+            next = t;
+        }
+        return dist;
+    }
+
+    /** parent[v] = lowest-numbered neighbour with dist[v] - 1, -1 for the source and unreachable nodes. */
+    public static int[] parents(CsrGraph g, int[] dist) {
+        int[] parent = new int[g.n + 1];
+        for (int v = 0; v <= g.n; v++) parent[v] = canonicalParent(g, dist, v);
+        return parent;
+    }
+
+    public static int[] parents(CsrGraph g, int[] dist, ForkJoinPool pool) {
+        int[] parent = new int[g.n + 1];
+        pool.submit(() -> IntStream.rangeClosed(0, g.n).parallel()
+                .forEach(v -> parent[v] = canonicalParent(g, dist, v))).join();
+        return parent;
+    }
+
+    private static int canonicalParent(CsrGraph g, int[] dist, int v) {
+        if (v == 0 || dist[v] <= 0) return -1;
+        int best = -1;
+        for (int k = g.offsets[v]; k < g.offsets[v + 1]; k++) {
+            int u = g.targets[k];
+            if (dist[u] == dist[v] - 1 && (best == -1 || u < best)) best = u;
+        }
+        return best;
+    }
+
+    /** One level over the word range [lo, hi). Returns {nodes discovered, sum of their degrees}. */
+    private static final class Step extends RecursiveTask<long[]> {
+        private final CsrGraph g;
+        private final int[] dist;
+        private final long[] frontier, next, visited;
+        private final int depth;
+        private final boolean bottomUp;
+        private final int lo, hi;
+
+        Step(CsrGraph g, int[] dist, long[] frontier, long[] next, long[] visited,
+             int depth, boolean bottomUp, int lo, int hi) {
+            this.g = g;
+            this.dist = dist;
+            this.frontier = frontier;
+            this.next = next;
+            this.visited = visited;
+            this.depth = depth;
+            this.bottomUp = bottomUp;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (hi - lo > LEAF_WORDS) {
+                int mid = (lo + hi) >>> 1;
+                Step left = new Step(g, dist, frontier, next, visited, depth, bottomUp, lo, mid);
+                left.fork();
+                long[] right = new Step(g, dist, frontier, next, visited, depth, bottomUp, mid, hi).compute();
+                long[] l = left.join();
+                right[0] += l[0];
+                right[1] += l[1];
+                return right;
+            }
+            return bottomUp ? bottomUp() : topDown();
+        }
+
+        private long[] topDown() {
+            long count = 0, edges = 0;
+            for (int w = lo; w < hi; w++) {
+                for (long bits = frontier[w]; bits != 0; bits &= bits - 1) {
+                    int u = (w << 6) | Long.numberOfTrailingZeros(bits);
+                    for (int k = g.offsets[u]; k < g.offsets[u + 1]; k++) {
+                        int v = g.targets[k];
+                        long mask = 1L << v;
+                        if ((visited[v >>> 6] & mask) != 0) continue; // racy pre-check, claimed below
+                        long old = (long) LONGS.getAndBitwiseOr(visited, v >>> 6, mask);
+                        if ((old & mask) != 0) continue;
+                        dist[v] = depth;
+                        LONGS.getAndBitwiseOr(next, v >>> 6, mask);
+                        count++;
+                        edges += g.degree(v);
+                    }
+                }
+            }
+            return new long[]{count, edges};
+        }
+
+        // each leaf owns its words of next/visited, so plain writes are enough here
+        private long[] bottomUp() {
+            long count = 0, edges = 0;
+            for (int w = lo; w < hi; w++) {
+                for (long bits = ~visited[w]; bits != 0; bits &= bits - 1) {
+                    int v = (w << 6) | Long.numberOfTrailingZeros(bits);
+                    for (int k = g.offsets[v]; k < g.offsets[v + 1]; k++) {
+                        int u = g.targets[k];
+                        if ((frontier[u >>> 6] & (1L << u)) != 0) {
+                            dist[v] = depth;
+                            next[w] |= 1L << v;
+                            visited[w] |= 1L << v;
+                            count++;
+                            edges += g.degree(v);
+                            break;
+                        }
+                    }
+                }
+            }
+            return new long[]{count, edges};
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+
+/** One label + one token icon reused for every row of the player list (no per-row components). */
+public class PlayerCellRenderer implements ListCellRenderer<Player> {
+
+    private final JLabel label = new JLabel();
+    private final TokenIcon icon = new TokenIcon();
+
+    public PlayerCellRenderer() {
+        label.setOpaque(true);
+        label.setIcon(icon);
+        label.setIconTextGap(10);
+        label.setFont(UiCache.font("Segoe UI", Font.BOLD, 13));
+        label.setBorder(new EmptyBorder(5, 10, 5, 10));
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<? extends Player> list, Player player, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+        icon.color = player.getColor();
+        icon.highlighted = isSelected;
+        label.setText(player.getName() + " - Node " + player.getPosition());
+        label.setBackground(UiCache.color(225, 245, 254));
+        label.setForeground(list.getForeground());
+        return label;
+    }
+
+    private static final class TokenIcon implements Icon {
+        Color color = Color.GRAY;
+        boolean highlighted;
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            SpriteAtlas.get(g, 20).drawToken(g, color, highlighted, x + 5, y + 5);
+        }
+
+        @Override
+        public int getIconWidth() {
+            return 30;
+        }
+
+        @Override
+        public int getIconHeight() {
+            return 30;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.example;
+
+import javax.swing.AbstractListModel;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Players in seat order for the player list (the scoreboard is LeaderboardListModel). Remembers
+ * the position each row was last shown with and only fires a change for rows whose player moved.
+ */
+public class PlayerListModel extends AbstractListModel<Player> {
+
+    private final List<Player> players = new ArrayList<>();
+    private final Map<Player, Integer> index = new IdentityHashMap<>();
+    private int[] shownPosition = new int[0];
+
+    @Override
+    public int getSize() {
+        return players.size();
+    }
+
+    @Override
+    public Player getElementAt(int i) {
+        return players.get(i);
+    }
+
+    public void setPlayers(List<Player> newPlayers) {
+        int oldSize = players.size();
+        players.clear();
+        index.clear();
+        if (oldSize > 0) fireIntervalRemoved(this, 0, oldSize - 1);
+
+        players.addAll(newPlayers);
+        shownPosition = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            index.put(players.get(i), i);
+            shownPosition[i] = players.get(i).getPosition();
+        }
+        if (!players.isEmpty()) fireIntervalAdded(this, 0, players.size() - 1);
+    }
+
+    /** One player moved: one row event. */
+    public void playerMoved(Player p) {
+        Integer i = index.get(p);
+        if (i == null || shownPosition[i] == p.getPosition()) return;
+        shownPosition[i] = p.getPosition();
+        fireContentsChanged(this, i, i);
+    }
+
+    /** Several players may have moved (e.g. reset): still one event per changed row. */
+    public void refreshPositions() {
+        for (int i = 0; i < players.size(); i++) {
+            int pos = players.get(i).getPosition();
+            if (shownPosition[i] != pos) {
+                shownPosition[i] = pos;
+                fireContentsChanged(this, i, i);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+import org.example.BoardRenderer;
+import org.example.RandomLink;
+import org.example.UiCache;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Offscreen paint cost, runs without a display (java.awt.headless=true is set before any AWT class loads):
+ *  - one CellPanel with 0..6 occupants, and with the heatmap overlay
+ *  - the GameUI board panel (GridLayout of CellPanels) at 8x8 and larger grids
+ *  - org.example.BoardRenderer with link overlays, a highlighted path and tokens, warm tile cache
+ *    and with the cache invalidated every frame (board change)
+ *  - links and 60 tokens alone, as a multi-table board draws them over shared tiles
+ * Each case paints into a BufferedImage on the EDT and reports mean / p50 / p99 frame time and
+ * bytes allocated per frame and per second of painting (ThreadMXBean, EDT only).
+ *
+ * java RenderBenchmark [frames]      default 300, after 100 warm-up frames
+ */
+public class RenderBenchmark {
+
+    static {
+        // before any AWT class is initialized: Color caches isHeadless(), and a DISPLAY alone would make it false
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    private static final int WARMUP = 100;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        SwingUtilities.invokeAndWait(() -> runAll(frames));
+    }
+
+    private static void runAll(int frames) {
+        // paint straight into our image, not into the RepaintManager's back buffer
+        RepaintManager.currentManager(null).setDoubleBufferingEnabled(false);
+        System.out.printf("%-34s %9s %9s %9s %12s %9s%n", "case", "mean ms", "p50 ms", "p99 ms", "alloc B/frm", "MB/s");
+
+        for (int occupants = 0; occupants <= 6; occupants++) {
+            CellPanel cell = new CellPanel(37);
+            cell.setOccupants(players(occupants));
+            layout(cell, 80, 80);
+            report("CellPanel, " + occupants + " occupants", frames, image(80, 80), cell::paint);
+        }
+        CellPanel heat = new CellPanel(37);
+        heat.setOccupants(players(2));
+        heat.setHeat(new Color(255, 230, 165), "73%", null);
+        layout(heat, 80, 80);
+        report("CellPanel, 2 occupants + heatmap", frames, image(80, 80), heat::paint);
+
+        for (int side : new int[]{8, 16, 32}) {
+            JPanel board = boardPanel(side);
+            int px = side * 80;
+            report("board panel " + side + "x" + side, Math.max(10, frames * 64 / (side * side)), image(px, px), board::paint);
+        }
+
+        for (int side : new int[]{8, 16, 32, 64}) {
+            int n = side * side;
+            BoardRenderer r = new BoardRenderer(side, side, 64, 256);
+            List<RandomLink> links = links(n, Math.max(5, n / 12), new Random(side));
+            r.setRandomLinks(links);
+            List<Integer> path = new ArrayList<>();
+            for (int v = n / 3; v <= n / 3 + 12 && v <= n; v++) path.add(v);
+            int[] positions = {1, n / 4, n / 2, n / 2, 3 * n / 4, n};
+            Color[] colors = new Color[6];
+            for (int i = 0; i < colors.length; i++) colors[i] = UiCache.seatColor(i);
+
+            // the visible 1024x768 viewport, centred on the board like a scrolled JScrollPane
+            Dimension size = r.getPreferredSize();
+            Rectangle clip = new Rectangle(Math.max(0, (size.width - 1024) / 2), Math.max(0, (size.height - 768) / 2),
+                    Math.min(1024, size.width), Math.min(768, size.height));
+            BufferedImage img = image(clip.width, clip.height);
+
+            Painter frame = g -> {
+                Graphics2D g2 = (Graphics2D) g;
+                g2.translate(-clip.x, -clip.y);
+                g2.setClip(clip);
+                r.paint(g2, clip);
+                r.paintHighlightPath(g2, clip, path);
+                r.paintTokens(g2, clip, positions, colors);
+            };
+            report("BoardRenderer " + side + "x" + side + ", warm tiles", frames, img, frame);
+            report("BoardRenderer " + side + "x" + side + ", board change", Math.max(10, frames / 4), img, g -> {
+                r.setRandomLinks(links); // new version, every visible tile is rendered again
+                frame.paint(g);
+            });
+        }
+
+        // what a multi-table board draws over the shared tiles every frame: its links and tokens
+        BoardRenderer table = new BoardRenderer(8, 8, 64, 16);
+        List<RandomLink> tableLinks = links(64, 5, new Random(8));
+        int[] crowd = new int[60];
+        Color[] crowdColors = new Color[crowd.length];
+        for (int i = 0; i < crowd.length; i++) {
+            crowd[i] = 1 + (i * 7) % 64;
+            crowdColors[i] = UiCache.seatColor(i);
+        }
+        Rectangle all = new Rectangle(table.getPreferredSize());
+        report("links + 60 tokens, no tiles", frames, image(all.width, all.height), g -> {
+            Graphics2D g2 = (Graphics2D) g;
+            table.paintLinks(g2, all, tableLinks);
+            table.paintTokens(g2, all, crowd, crowdColors);
+        });
+    }
+
+    private interface Painter {
+        void paint(Graphics g);
+    }
+
+    private static void report(String name, int frames, BufferedImage img, Painter painter) {
+        for (int i = 0; i < WARMUP; i++) paintOnce(img, painter);
+
+        long tid = Thread.currentThread().getId();
+        long[] t = new long[frames];
+        long alloc0 = THREADS.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < frames; i++) {
+            long start = System.nanoTime();
+            paintOnce(img, painter);
+            t[i] = System.nanoTime() - start;
+        }
+        long alloc = THREADS.getThreadAllocatedBytes(tid) - alloc0;
+
+        long sum = 0;
+        for (long x : t) sum += x;
+        Arrays.sort(t);
+        System.out.printf("%-34s %9.3f %9.3f %9.3f %12d %9.1f%n", name, sum / 1e6 / frames,
+                t[frames / 2] / 1e6, t[Math.min(frames - 1, (int) Math.ceil(frames * 0.99) - 1)] / 1e6, alloc / frames,
+                alloc / 1e6 / (sum / 1e9));
+    }
+
+    private static void paintOnce(BufferedImage img, Painter painter) {
+        Graphics2D g = img.createGraphics();
+        try {
+            painter.paint(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static BufferedImage image(int w, int h) {
+        return new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    /** Same construction as GameUI.buildUI, side x side cells with a few players spread over it. */
+    private static JPanel boardPanel(int side) {
+        JPanel board = new JPanel(new GridLayout(side, side, 2, 2));
+        int n = side * side;
+        List<Player> all = players(6);
+        for (int i = 1; i <= n; i++) {
+            CellPanel c = new CellPanel(i);
+            if (i % 7 == 0) c.setOccupants(all.subList(0, 1 + i % 6));
+            board.add(c);
+        }
+        layout(board, side * 80, side * 80);
+        return board;
+    }
+
+    // no peer in headless mode, so lay the component tree out by hand
+    private static void layout(Component c, int w, int h) {
+        c.setSize(w, h);
+        layoutTree(c);
+    }
+
+    private static void layoutTree(Component c) {
+        if (!(c instanceof Container)) return;
+        Container k = (Container) c;
+        k.doLayout();
+        for (Component child : k.getComponents()) layoutTree(child);
+    }
+
+    private static List<Player> players(int count) {
+        List<Player> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) list.add(new Player("P" + (i + 1), UiCache.seatColor(i)));
+        return list;
+    }
+
+    private static List<RandomLink> links(int n, int count, Random rnd) {
+        List<RandomLink> links = new ArrayList<>();
+        while (links.size() < count) {
+            int a = 2 + rnd.nextInt(n - 2), b = 2 + rnd.nextInt(n - 2);
+            if (Math.abs(a - b) < 2) continue;
+            links.add(new RandomLink(Math.min(a, b), Math.max(a, b), b > a));
+        }
+        return links;
+    }
+}
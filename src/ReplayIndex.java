@@ -0,0 +1,169 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seekable form of a recorded game (the GameEvents of one game, as EventRecorder keeps them).
+ *
+ * Each turn is stored as a delta: who played, green or red, the nodes moved through, double turn,
+ * win. Every `interval` turns a keyframe holds the full state: positions, every player's steps
+ * stack and the turn-queue order. seek(t) copies the keyframe at or before t and applies at most
+ * interval - 1 deltas, so any turn of a long game is a few microseconds away.
+ */
+public class ReplayIndex {
+
+    public static final int DEFAULT_INTERVAL = 256;
+
+    private static final int GREEN = 1, DOUBLE = 2, WIN = 4;
+
+    /** Game state after some turn. Seat indices as in the recording; nodes 1..N. */
+    public static class State {
+        public int turn;
+        public int winner = -1;
+        public final int[] position;
+        public final ArrayDeque<Integer> queue;   // next to play first
+        private final int[][] steps;
+        private final int[] stepsSize;
+
+        State(int players) {
+            position = new int[players];
+            queue = new ArrayDeque<>();
+            steps = new int[players][];
+            stepsSize = new int[players];
+            for (int p = 0; p < players; p++) {
+                position[p] = 1;
+                steps[p] = new int[]{1};
+                stepsSize[p] = 1;
+                queue.addLast(p);
+            }
+        }
+
+        private State(State o) {
+            turn = o.turn;
+            winner = o.winner;
+            position = o.position.clone();
+            queue = new ArrayDeque<>(o.queue);
+            steps = new int[o.steps.length][];
+            for (int p = 0; p < steps.length; p++) steps[p] = Arrays.copyOf(o.steps[p], o.stepsSize[p]);
+            stepsSize = o.stepsSize.clone();
+        }
+
+        /** Player p's steps stack, bottom (node 1) first. */
+        public int[] steps(int p) {
+            return Arrays.copyOf(steps[p], stepsSize[p]);
+        }
+
+        private void push(int p, int node) {
+            if (stepsSize[p] == steps[p].length) steps[p] = Arrays.copyOf(steps[p], Math.max(4, stepsSize[p] * 2));
+            steps[p][stepsSize[p]++] = node;
+            position[p] = node;
+        }
+
+        private void pop(int p) {
+            if (stepsSize[p] > 1) stepsSize[p]--;
+            position[p] = steps[p][stepsSize[p] - 1];
+        }
+    }
+
+    private final int players;
+    private final int interval;
+    private int turns;
+    private int[] turnPlayer = new int[1024];     // [t], 1-based
+    private byte[] turnFlags = new byte[1024];
+    private int[] moveEnd = new int[1024];        // moves of turn t are moves[moveEnd[t-1] .. moveEnd[t])
+    private int[] moves = new int[4096];
+    private final List<State> keyframes = new ArrayList<>(); // keyframes.get(i) = state after turn i * interval
+
+    private ReplayIndex(int players, int interval) {
+        if (interval < 1) throw new IllegalArgumentException("interval must be >= 1");
+        this.players = players;
+        this.interval = interval;
+    }
+
+    public static ReplayIndex build(List<GameEvent> events, int players, int interval) {
+        ReplayIndex idx = new ReplayIndex(players, interval);
+        for (GameEvent e : events) {
+            switch (e.type) {
+                case TURN: idx.startTurn(e.player); break;
+                case ROLL: if (e.green) idx.turnFlags[idx.turns] |= GREEN; break;
+                case STEP:
+                case JUMP: idx.addMove(e.to); break;
+                case DOUBLE_TURN: idx.turnFlags[idx.turns] |= DOUBLE; break;
+                case WIN: idx.turnFlags[idx.turns] |= WIN; break;
+            }
+        }
+
+        State s = new State(players);
+        idx.keyframes.add(new State(s));
+        for (int t = 1; t <= idx.turns; t++) {
+            idx.apply(s, t);
+            if (t % interval == 0) idx.keyframes.add(new State(s));
+        }
+        return idx;
+    }
+
+    private void startTurn(int player) {
+        turns++;
+        if (turns == turnPlayer.length) {
+            turnPlayer = Arrays.copyOf(turnPlayer, turns * 2);
+            turnFlags = Arrays.copyOf(turnFlags, turns * 2);
+            moveEnd = Arrays.copyOf(moveEnd, turns * 2);
+        }
+        turnPlayer[turns] = player;
+        moveEnd[turns] = moveEnd[turns - 1];
+    }
+
+    private void addMove(int to) {
+        if (turns == 0) return; // move without a TURN event, not from a full recording
+        if (moveEnd[turns] == moves.length) moves = Arrays.copyOf(moves, moves.length * 2);
+        moves[moveEnd[turns]++] = to;
+    }
+
+    private void apply(State s, int t) {
+        int p = turnPlayer[t];
+        if (!s.queue.isEmpty() && s.queue.peekFirst() == p) s.queue.pollFirst();
+        else s.queue.remove(p);
+
+        boolean green = (turnFlags[t] & GREEN) != 0;
+        for (int i = moveEnd[t - 1]; i < moveEnd[t]; i++) {
+            if (green) s.push(p, moves[i]);
+            else s.pop(p);
+        }
+
+        if ((turnFlags[t] & WIN) != 0) s.winner = p;
+        else if ((turnFlags[t] & DOUBLE) != 0) s.queue.addFirst(p);
+        else s.queue.addLast(p);
+        s.turn = t;
+    }
+
+    public int turns() {
+        return turns;
+    }
+
+    public int players() {
+        return players;
+    }
+
+    public int player(int turn) {
+        return turnPlayer[turn];
+    }
+
+    /** Nodes moved through in `turn`, 0 for a turn without movement. */
+    public int moveCount(int turn) {
+        return moveEnd[turn] - moveEnd[turn - 1];
+    }
+
+    /** State after `turn` (0 = start), a fresh copy the caller may keep. */
+    public State seek(int turn) {
+        if (turn < 0 || turn > turns) throw new IndexOutOfBoundsException("turn " + turn + " of " + turns);
+        State s = new State(keyframes.get(turn / interval));
+        for (int t = s.turn + 1; t <= turn; t++) apply(s, t);
+        return s;
+    }
+
+    /** Moves an existing state forward to `turn` without a keyframe copy (for playback). */
+    public void advance(State s, int turn) {
+        for (int t = s.turn + 1; t <= turn; t++) apply(s, t);
+    }
+}
@@ -0,0 +1,270 @@
+import org.example.UiCache;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Replay with a timeline: the slider seeks through a ReplayIndex (nearest keyframe + deltas), play
+ * runs from the slider position at 0.25x..16x (1x = 250 ms per node moved, like the live board) or
+ * jumps straight to the final state.
+ *
+ * Usage: --replay [--seed G] [--board-seed B] [--players N] [--rules spec] [--keyframes K] [--bench]
+ * The game is played headlessly from the seeds and recorded through the event stream. --bench prints
+ * build / seek timings and checks seeks against a straight replay instead of opening a window.
+ */
+public class ReplayViewer {
+
+    public static final String USAGE = "usage: --replay [--seed G] [--board-seed B] [--players N] [--rules spec]"
+            + " [--keyframes K] [--bench]";
+
+    private static final String[] SPEED_NAMES = {"0.25x", "0.5x", "1x", "2x", "4x", "16x", "Hanya hasil akhir"};
+    private static final double[] SPEEDS = {0.25, 0.5, 1, 2, 4, 16, 0};
+    private static final int STEP_MS = 250;
+
+    private final ReplayIndex index;
+    private final int n;
+    private final List<Player> seats = new ArrayList<>();
+
+    private final JFrame frame = new JFrame("Replay");
+    private final CellPanel[] cells;
+    private final JSlider slider;
+    private final JLabel turnLabel = new JLabel();
+    private final JTextArea stateArea = new JTextArea(12, 28);
+    private final JButton playBtn = new JButton("Play");
+    private final JComboBox<String> speedBox = new JComboBox<>(SPEED_NAMES);
+    private final Timer timer = new Timer(STEP_MS, null);
+
+    private ReplayIndex.State shown;
+    private boolean playing;
+
+    public ReplayViewer(ReplayIndex index, int n) {
+        this.index = index;
+        this.n = n;
+        this.cells = new CellPanel[n + 1];
+        this.slider = new JSlider(0, index.turns(), 0);
+        for (int p = 0; p < index.players(); p++) seats.add(new Player("P" + (p + 1), UiCache.seatColor(p)));
+    }
+
+    public void show() {
+        int side = (int) Math.ceil(Math.sqrt(n));
+        JPanel board = new JPanel(new GridLayout(side, side, 2, 2));
+        board.setBorder(BorderFactory.createTitledBorder("Board (" + n + " nodes)"));
+        for (int i = 1; i <= n; i++) {
+            cells[i] = new CellPanel(i);
+            board.add(cells[i]);
+        }
+
+        slider.addChangeListener(e -> {
+            // playback moves the slider too; only a user drag needs a seek
+            if (!playing || slider.getValueIsAdjusting()) showTurn(slider.getValue());
+        });
+        playBtn.addActionListener(e -> {
+            if (playing) stop();
+            else play();
+        });
+        speedBox.setSelectedIndex(2);
+        timer.addActionListener(e -> tick());
+
+        JPanel controls = new JPanel(new BorderLayout(8, 0));
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        buttons.add(playBtn);
+        buttons.add(new JLabel("Kecepatan:"));
+        buttons.add(speedBox);
+        buttons.add(turnLabel);
+        controls.add(slider, BorderLayout.CENTER);
+        controls.add(buttons, BorderLayout.SOUTH);
+
+        stateArea.setEditable(false);
+        stateArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        frame.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        frame.setLayout(new BorderLayout());
+        frame.add(board, BorderLayout.CENTER);
+        frame.add(new JScrollPane(stateArea), BorderLayout.EAST);
+        frame.add(controls, BorderLayout.SOUTH);
+        frame.setSize(1100, 760);
+        frame.setLocationRelativeTo(null);
+
+        showTurn(0);
+        frame.setVisible(true);
+    }
+
+    private void play() {
+        double speed = SPEEDS[speedBox.getSelectedIndex()];
+        if (speed == 0) {
+            slider.setValue(index.turns());
+            return;
+        }
+        if (slider.getValue() == index.turns()) slider.setValue(0);
+        playing = true;
+        playBtn.setText("Pause");
+        scheduleNext(speed);
+        timer.start();
+    }
+
+    private void stop() {
+        playing = false;
+        timer.stop();
+        playBtn.setText("Play");
+    }
+
+    private void tick() {
+        int next = shown.turn + 1;
+        if (next > index.turns()) {
+            stop();
+            return;
+        }
+        index.advance(shown, next); // one delta, no keyframe copy
+        render();
+        slider.setValue(next);
+        double speed = SPEEDS[speedBox.getSelectedIndex()];
+        if (speed == 0) {
+            stop();
+            slider.setValue(index.turns());
+        } else {
+            scheduleNext(speed);
+        }
+    }
+
+    private void scheduleNext(double speed) {
+        int next = Math.min(index.turns(), shown.turn + 1);
+        int nodes = next == 0 ? 1 : Math.max(1, index.moveCount(next));
+        timer.setDelay((int) Math.max(1, STEP_MS * nodes / speed));
+    }
+
+    private void showTurn(int turn) {
+        if (shown != null && shown.turn == turn) return;
+        shown = index.seek(turn);
+        render();
+    }
+
+    private void render() {
+        List<List<Player>> here = new ArrayList<>(n + 1);
+        for (int i = 0; i <= n; i++) here.add(new ArrayList<>());
+        for (int p = 0; p < seats.size(); p++) here.get(Math.max(1, Math.min(n, shown.position[p]))).add(seats.get(p));
+        for (int i = 1; i <= n; i++) cells[i].setOccupants(here.get(i));
+
+        turnLabel.setText("Giliran " + shown.turn + " / " + index.turns()
+                + (shown.turn > 0 ? "  (" + seats.get(index.player(shown.turn)).name + ")" : ""));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Urutan giliran: ");
+        for (int p : shown.queue) sb.append(seats.get(p).name).append(' ');
+        sb.append("\n\n");
+        for (int p = 0; p < seats.size(); p++) {
+            int[] steps = shown.steps(p);
+            sb.append(seats.get(p).name).append(" @ ").append(shown.position[p])
+                    .append("  steps ").append(steps.length).append(": ");
+            for (int i = Math.max(0, steps.length - 8); i < steps.length; i++) sb.append(steps[i]).append(' ');
+            sb.append('\n');
+        }
+        if (shown.winner >= 0) sb.append("\nWINNER: ").append(seats.get(shown.winner).name).append('\n');
+        stateArea.setText(sb.toString());
+    }
+
+    public static int run(String[] args) {
+        long seed = 1, boardSeed = 1;
+        int players = 2, interval = ReplayIndex.DEFAULT_INTERVAL;
+        RuleConfig rules = RuleConfig.DEFAULT;
+        boolean bench = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String a = args[i];
+                if (a.equals("--bench")) {
+                    bench = true;
+                    continue;
+                }
+                if (i + 1 >= args.length) throw new IllegalArgumentException("missing value for " + a);
+                String v = args[++i];
+                switch (a) {
+                    case "--seed": seed = Long.parseLong(v); break;
+                    case "--board-seed": boardSeed = Long.parseLong(v); break;
+                    case "--players": players = Integer.parseInt(v); break;
+                    case "--rules": rules = RuleConfig.parse(v); break;
+                    case "--keyframes": interval = Integer.parseInt(v); break;
+                    default: throw new IllegalArgumentException("unknown option " + a);
+                }
+            }
+            if (players < 1 || players > 6) throw new IllegalArgumentException("players must be 1..6");
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        BoardGraph graph = new BoardGraph(new Random(boardSeed));
+        HeadlessGame game = new HeadlessGame(rules.compile(graph), players);
+        EventRecorder recorder = new EventRecorder();
+        List<GameEvent> events;
+        GameResult result;
+        try (GameEventStream stream = new GameEventStream()) {
+            stream.subscribe(recorder);
+            game.setEvents(stream);
+            result = game.play(seed);
+        }
+        try {
+            events = recorder.awaitClosed();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+
+        long start = System.nanoTime();
+        ReplayIndex index = ReplayIndex.build(events, players, interval);
+        long built = System.nanoTime() - start;
+
+        if (bench) return bench(index, events, result, built);
+        SwingUtilities.invokeLater(() -> new ReplayViewer(index, graph.N).show());
+        return 0;
+    }
+
+    private static int bench(ReplayIndex index, List<GameEvent> events, GameResult result, long buildNanos) {
+        int turns = index.turns();
+        System.out.printf("%d turns, %d events, index built in %.1f ms%n", turns, events.size(), buildNanos / 1e6);
+
+        // a straight pass against the recording itself: who plays each turn and from where, and the winner
+        ReplayIndex.State straight = index.seek(0);
+        int turn = 0;
+        for (GameEvent e : events) {
+            if (e.type != GameEvent.Type.TURN) continue;
+            index.advance(straight, turn++);
+            if (index.player(turn) != e.player || straight.position[e.player] != e.from) {
+                System.err.println("turn " + turn + " differs from the recording: seat " + index.player(turn)
+                        + " at " + straight.position[index.player(turn)] + ", recorded seat " + e.player + " at " + e.from);
+                return 1;
+            }
+        }
+        index.advance(straight, turns);
+        if (turn != turns || straight.winner != result.winner) {
+            System.err.println("index has " + turns + " turns and winner " + straight.winner
+                    + ", recording " + turn + " turns and winner " + result.winner);
+            return 1;
+        }
+
+        // every 97th turn (and the last) against one straight pass from the start
+        straight = index.seek(0);
+        for (int t = 0; t <= turns; t = t == turns ? turns + 1 : Math.min(turns, t + 97)) {
+            index.advance(straight, t);
+            ReplayIndex.State s = index.seek(t);
+            for (int p = 0; p < index.players(); p++) {
+                if (s.position[p] != straight.position[p] || !Arrays.equals(s.steps(p), straight.steps(p))
+                        || !new ArrayList<>(s.queue).equals(new ArrayList<>(straight.queue))) {
+                    System.err.println("seek(" + t + ") differs from a straight replay");
+                    return 1;
+                }
+            }
+        }
+
+        Random rnd = new Random(7);
+        int seeks = 10_000;
+        for (int i = 0; i < seeks; i++) index.seek(rnd.nextInt(turns + 1)); // warm-up
+        long start = System.nanoTime();
+        for (int i = 0; i < seeks; i++) index.seek(rnd.nextInt(turns + 1));
+        System.out.printf("random seek: %.1f us average over %d seeks%n", (System.nanoTime() - start) / 1e3 / seeks, seeks);
+        return 0;
+    }
+}
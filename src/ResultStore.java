@@ -0,0 +1,329 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Append-only store of finished games in a directory:
+ *
+ * results.col  blocks of up to BLOCK_ROWS games, column by column:
+ *              fingerprint long[], seed long[], time long[], turns int[], backward int[],
+ *              doubles int[], winner byte[], players byte[]
+ * results.idx  one INDEX_ENTRY per block: offset, rows, filter words, min/max time, filter offset
+ * results.blm  per block a bloom filter over its fingerprints, sized to the block's distinct boards
+ *              (BITS_PER_BOARD bits each, power of two, 64 bits .. MAX_FILTER_WORDS words)
+ *
+ * Stores written before results.blm existed have filter words = 0 and a single 64-bit filter word
+ * in place of the offset; those are still read.
+ *
+ * A block only counts once its index entry is written, so a crash mid-append loses at most the
+ * unflushed rows; open() cuts any unindexed tail off results.col and results.blm. openReadOnly()
+ * never writes: it ignores such a tail instead, so it can query a store another process is
+ * appending to. Queries read the index, skip blocks by time range / bloom filter and scan only the
+ * columns they need from memory-mapped blocks.
+ */
+public class ResultStore implements Closeable {
+
+    public static final int BLOCK_ROWS = 8192;
+    public static final int MAX_SEATS = 6;
+    private static final int ROW_BYTES = 8 + 8 + 8 + 4 + 4 + 4 + 1 + 1;
+    private static final int INDEX_ENTRY = 8 + 4 + 4 + 8 + 8 + 8;
+    private static final int[] COLUMN_WIDTHS = {8, 8, 8, 4, 4, 4, 1, 1};
+    // live games use a new board almost every game, so a block can hold thousands of boards; one
+    // 64-bit word per block saturated at a few dozen and per-board queries scanned every block
+    static final int BITS_PER_BOARD = 8, HASHES = 3; // ~3% false positives
+    static final int MAX_FILTER_WORDS = 1024;        // 8 KB, an eighth of the block's fingerprint column
+
+    private final FileChannel col;
+    private final FileChannel idx;
+    private final FileChannel blm; // null: read-only store written before results.blm existed
+    private final boolean readOnly;
+    private final List<long[]> index = new ArrayList<>(); // {offset, rows, minTime, maxTime, filter offset, filter words}
+    private final List<long[]> filters = new ArrayList<>(); // per index entry; old stores: the one word
+
+    // rows not yet written
+    private final long[] fp = new long[BLOCK_ROWS], seed = new long[BLOCK_ROWS], time = new long[BLOCK_ROWS];
+    private final int[] turns = new int[BLOCK_ROWS], backward = new int[BLOCK_ROWS], doubles = new int[BLOCK_ROWS];
+    private final byte[] winner = new byte[BLOCK_ROWS], players = new byte[BLOCK_ROWS];
+    private int pending;
+
+    private ResultStore(FileChannel col, FileChannel idx, FileChannel blm, boolean readOnly) {
+        this.col = col;
+        this.idx = idx;
+        this.blm = blm;
+        this.readOnly = readOnly;
+    }
+
+    public static ResultStore open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        FileChannel col = FileChannel.open(dir.resolve("results.col"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel idx = null, blm = null;
+        try {
+            idx = FileChannel.open(dir.resolve("results.idx"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            blm = FileChannel.open(dir.resolve("results.blm"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            col.close();
+            if (idx != null) idx.close();
+            throw e;
+        }
+        ResultStore store = new ResultStore(col, idx, blm, false);
+        try {
+            store.loadIndex();
+        } catch (IOException e) {
+            store.closeChannels();
+            throw e;
+        }
+        return store;
+    }
+
+    /** For queries: no files created, nothing truncated; fails if the store does not exist. */
+    public static ResultStore openReadOnly(Path dir) throws IOException {
+        FileChannel col = FileChannel.open(dir.resolve("results.col"), StandardOpenOption.READ);
+        FileChannel idx = null, blm = null;
+        try {
+            idx = FileChannel.open(dir.resolve("results.idx"), StandardOpenOption.READ);
+            Path filterFile = dir.resolve("results.blm");
+            if (Files.exists(filterFile)) blm = FileChannel.open(filterFile, StandardOpenOption.READ);
+        } catch (IOException e) {
+            col.close();
+            if (idx != null) idx.close();
+            throw e;
+        }
+        ResultStore store = new ResultStore(col, idx, blm, true);
+        try {
+            store.loadIndex();
+        } catch (IOException e) {
+            store.closeChannels();
+            throw e;
+        }
+        return store;
+    }
+
+    private void loadIndex() throws IOException {
+        long entries = idx.size() / INDEX_ENTRY;
+        if (!readOnly) idx.truncate(entries * INDEX_ENTRY); // half-written entry
+        ByteBuffer b = ByteBuffer.allocate((int) (entries * INDEX_ENTRY));
+        while (b.hasRemaining()) {
+            if (idx.read(b, b.position()) < 0) break;
+        }
+        b.flip();
+        long end = 0, filterEnd = 0, colSize = col.size(), blmSize = blm == null ? 0 : blm.size();
+        for (long i = 0; i < entries; i++) {
+            long offset = b.getLong();
+            int rows = b.getInt();
+            int words = b.getInt();
+            long[] e = {offset, rows, b.getLong(), b.getLong(), b.getLong(), words};
+            if (offset + (long) rows * ROW_BYTES > colSize) break; // only if results.col was damaged
+            long[] filter;
+            if (words == 0) {
+                filter = new long[]{e[4]}; // old single-word entry
+            } else {
+                if (words < 0 || words > MAX_FILTER_WORDS || e[4] < 0 || e[4] + words * 8L > blmSize) break; // damaged
+                ByteBuffer f = ByteBuffer.allocate(words * 8);
+                while (f.hasRemaining()) {
+                    if (blm.read(f, e[4] + f.position()) < 0) throw new IOException("results.blm shrank while reading");
+                }
+                f.flip();
+                filter = new long[words];
+                f.asLongBuffer().get(filter);
+                filterEnd = e[4] + words * 8L;
+            }
+            index.add(e);
+            filters.add(filter);
+            end = offset + (long) rows * ROW_BYTES;
+        }
+        if (!readOnly) {
+            // block (or filter) written but never indexed
+            col.truncate(end);
+            blm.truncate(filterEnd);
+        }
+    }
+
+    public void append(long fingerprint, long timeMillis, GameResult r) throws IOException {
+        if (readOnly) throw new IllegalStateException("store opened read-only");
+        fp[pending] = fingerprint;
+        seed[pending] = r.seed;
+        time[pending] = timeMillis;
+        turns[pending] = r.turns;
+        backward[pending] = r.backwardMoves;
+        doubles[pending] = r.doubleTurns;
+        winner[pending] = (byte) r.winner;
+        players[pending] = (byte) r.players;
+        if (++pending == BLOCK_ROWS) flush();
+    }
+
+    public void flush() throws IOException {
+        if (pending == 0) return;
+        int rows = pending;
+        ByteBuffer b = ByteBuffer.allocate(rows * ROW_BYTES);
+        long minTime = Long.MAX_VALUE, maxTime = Long.MIN_VALUE;
+        for (int i = 0; i < rows; i++) b.putLong(fp[i]);
+        for (int i = 0; i < rows; i++) b.putLong(seed[i]);
+        for (int i = 0; i < rows; i++) {
+            b.putLong(time[i]);
+            minTime = Math.min(minTime, time[i]);
+            maxTime = Math.max(maxTime, time[i]);
+        }
+        for (int i = 0; i < rows; i++) b.putInt(turns[i]);
+        for (int i = 0; i < rows; i++) b.putInt(backward[i]);
+        for (int i = 0; i < rows; i++) b.putInt(doubles[i]);
+        b.put(winner, 0, rows);
+        b.put(players, 0, rows);
+        b.flip();
+
+        long offset = col.size();
+        while (b.hasRemaining()) col.write(b, offset + b.position());
+
+        long[] filter = filter(fp, rows);
+        ByteBuffer f = ByteBuffer.allocate(filter.length * 8);
+        f.asLongBuffer().put(filter);
+        long filterOffset = blm.size();
+        while (f.hasRemaining()) blm.write(f, filterOffset + f.position());
+
+        // the index entry last: it is what makes the block count
+        ByteBuffer e = ByteBuffer.allocate(INDEX_ENTRY);
+        e.putLong(offset).putInt(rows).putInt(filter.length).putLong(minTime).putLong(maxTime).putLong(filterOffset).flip();
+        long idxOffset = (long) index.size() * INDEX_ENTRY;
+        while (e.hasRemaining()) idx.write(e, idxOffset + e.position());
+        index.add(new long[]{offset, rows, minTime, maxTime, filterOffset, filter.length});
+        filters.add(filter);
+        pending = 0;
+    }
+
+    /** Bloom filter over the first `rows` fingerprints, BITS_PER_BOARD bits per distinct one. */
+    static long[] filter(long[] fingerprints, int rows) {
+        long[] sorted = Arrays.copyOf(fingerprints, rows);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < rows; i++) if (i == 0 || sorted[i] != sorted[i - 1]) distinct++;
+        int words = 1;
+        while (words < MAX_FILTER_WORDS && words * 64 < distinct * BITS_PER_BOARD) words <<= 1;
+        long[] filter = new long[words];
+        int mask = filter.length * 64 - 1;
+        for (int i = 0; i < rows; i++) {
+            long h = mix(sorted[i]);
+            for (int k = 0; k < HASHES; k++) {
+                int bit = ((int) h + k * ((int) (h >>> 32) | 1)) & mask;
+                filter[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return filter;
+    }
+
+    /** False only if no game on this board is in the block. */
+    private static boolean mayContain(long[] entry, long[] filter, long fingerprint) {
+        if (entry[5] == 0) {
+            long bits = (1L << (fingerprint & 63)) | (1L << ((fingerprint >>> 6) & 63)); // old single-word filter
+            return (filter[0] & bits) == bits;
+        }
+        int mask = filter.length * 64 - 1;
+        long h = mix(fingerprint);
+        for (int k = 0; k < HASHES; k++) {
+            int bit = ((int) h + k * ((int) (h >>> 32) | 1)) & mask;
+            if ((filter[bit >>> 6] & 1L << bit) == 0) return false;
+        }
+        return true;
+    }
+
+    // fingerprints are already hashes, but spread them again so nearby ones do not share bits
+    private static long mix(long x) {
+        x = (x ^ (x >>> 33)) * 0xff51afd7ed558ccdL;
+        x = (x ^ (x >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return x ^ (x >>> 33);
+    }
+
+    public long size() {
+        long n = pending;
+        for (long[] e : index) n += e[1];
+        return n;
+    }
+
+    /** wins[seat] / games with that seat, for one board. Flushed rows only. */
+    public double[] winRateBySeat(long fingerprint) throws IOException {
+        long[] games = new long[MAX_SEATS], wins = new long[MAX_SEATS];
+        for (int b = 0; b < index.size(); b++) {
+            long[] e = index.get(b);
+            if (!mayContain(e, filters.get(b), fingerprint)) continue;
+            int rows = (int) e[1];
+            MappedByteBuffer m = map(e);
+            int winnerCol = column(rows, 6), playersCol = column(rows, 7);
+            for (int i = 0; i < rows; i++) {
+                if (m.getLong(i * 8) != fingerprint) continue;
+                int w = m.get(winnerCol + i);
+                int p = m.get(playersCol + i);
+                for (int s = 0; s < p && s < MAX_SEATS; s++) games[s]++;
+                if (w >= 0 && w < MAX_SEATS) wins[w]++;
+            }
+        }
+        double[] rate = new double[MAX_SEATS];
+        for (int s = 0; s < MAX_SEATS; s++) rate[s] = games[s] == 0 ? Double.NaN : (double) wins[s] / games[s];
+        return rate;
+    }
+
+    /** p-th percentile (0..100) of game length for games finished in [fromMillis, toMillis); -1 if none. */
+    public int turnsPercentile(long fromMillis, long toMillis, double p) throws IOException {
+        int[] counts = new int[1024];
+        long total = 0;
+        for (long[] e : index) {
+            if (e[3] < fromMillis || e[2] >= toMillis) continue;
+            int rows = (int) e[1];
+            MappedByteBuffer m = map(e);
+            int timeCol = column(rows, 2), turnsCol = column(rows, 3);
+            for (int i = 0; i < rows; i++) {
+                long t = m.getLong(timeCol + i * 8);
+                if (t < fromMillis || t >= toMillis) continue;
+                int turnsValue = m.getInt(turnsCol + i * 4);
+                if (turnsValue >= counts.length) counts = Arrays.copyOf(counts, Math.max(turnsValue + 1, counts.length * 2));
+                counts[turnsValue]++;
+                total++;
+            }
+        }
+        if (total == 0) return -1;
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+        long seen = 0;
+        for (int v = 0; v < counts.length; v++) {
+            seen += counts[v];
+            if (seen >= rank) return v;
+        }
+        return counts.length - 1;
+    }
+
+    private MappedByteBuffer map(long[] e) throws IOException {
+        return col.map(FileChannel.MapMode.READ_ONLY, e[0], e[1] * ROW_BYTES);
+    }
+
+    /** Byte offset of column c (order as in the class comment) inside a block of `rows` rows. */
+    private static int column(int rows, int c) {
+        int off = 0;
+        for (int i = 0; i < c; i++) off += COLUMN_WIDTHS[i] * rows;
+        return off;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            closeChannels();
+        }
+    }
+
+    private void closeChannels() throws IOException {
+        try {
+            col.close();
+            idx.close();
+        } finally {
+            if (blm != null) blm.close();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/** Streams one line per finished game (CSV or NDJSON) through a buffered channel. */
+public class ResultWriter implements Closeable {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String[] COLUMNS = {
+            "game", "players", "seed", "board_seed", "turns", "winner", "backward_moves", "double_turns", "links"
+    };
+
+    private final WritableByteChannel channel;
+    private final boolean closeChannel;
+    private final Format format;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(1 << 16);
+    private final StringBuilder line = new StringBuilder(160);
+
+    private ResultWriter(WritableByteChannel channel, boolean closeChannel, Format format) {
+        this.channel = channel;
+        this.closeChannel = closeChannel;
+        this.format = format;
+    }
+
+    /** path null or "-" = stdout */
+    public static ResultWriter open(String path, Format format) throws IOException {
+        if (path == null || path.equals("-")) {
+            return new ResultWriter(Channels.newChannel(new FileOutputStream(FileDescriptor.out)), false, format);
+        }
+        FileChannel ch = FileChannel.open(Path.of(path),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new ResultWriter(ch, true, format);
+    }
+
+    public void writeHeader() throws IOException {
+        if (format != Format.CSV) return;
+        line.setLength(0);
+        line.append(String.join(",", COLUMNS)).append('\n');
+        put(line);
+    }
+
+    public void write(long game, long boardSeed, GameResult r, List<int[]> links) throws IOException {
+        line.setLength(0);
+        if (format == Format.CSV) {
+            line.append(game).append(',')
+                    .append(r.players).append(',')
+                    .append(r.seed).append(',')
+                    .append(boardSeed).append(',')
+                    .append(r.turns).append(',')
+                    .append(r.winner).append(',')
+                    .append(r.backwardMoves).append(',')
+                    .append(r.doubleTurns).append(',');
+            appendLinks(links);
+            line.append('\n');
+        } else {
+            line.append("{\"game\":").append(game)
+                    .append(",\"players\":").append(r.players)
+                    .append(",\"seed\":").append(r.seed)
+                    .append(",\"board_seed\":").append(boardSeed)
+                    .append(",\"turns\":").append(r.turns)
+                    .append(",\"winner\":").append(r.winner)
+                    .append(",\"backward_moves\":").append(r.backwardMoves)
+                    .append(",\"double_turns\":").append(r.doubleTurns)
+                    .append(",\"links\":\"");
+            appendLinks(links);
+            line.append("\"}\n");
+        }
+        put(line);
+    }
+
+    private void appendLinks(List<int[]> links) {
+        for (int i = 0; i < links.size(); i++) {
+            if (i > 0) line.append(';');
+            line.append(links.get(i)[0]).append('-').append(links.get(i)[1]);
+        }
+    }
+
+    // everything we write is ASCII, so chars go straight into the byte buffer
+    private void put(CharSequence s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            if (!buf.hasRemaining()) drain();
+            buf.put((byte) s.charAt(i));
+        }
+    }
+
+    private void drain() throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) channel.write(buf);
+        buf.clear();
+    }
+
+    public void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        drain();
+        if (closeChannel) channel.close();
+    }
+}
@@ -0,0 +1,94 @@
+import java.util.List;
+
+/**
+ * One rule variant. DEFAULT is the game as played in GameUI.
+ * compile() turns it into lookup tables for a given board; nothing here is consulted per turn.
+ *
+ * Spec string (--rules / -Dladder.rules): comma-separated key=value, unknown keys rejected, e.g.
+ *   green=0.6,double=4,prime=off,exact=on
+ */
+public class RuleConfig {
+
+    public static final RuleConfig DEFAULT = new RuleConfig(0.7, 5, true, false);
+
+    public final double greenOdds;        // P(green) = P(nextDouble() <= greenOdds)
+    public final int doubleTurnModulus;   // landing on a multiple -> play again, 0 = never
+    public final boolean primeShortestPath; // green from a prime node follows the shortest path to the end
+    public final boolean exactFinish;     // a forward move that would overshoot the last node is not made
+
+    public RuleConfig(double greenOdds, int doubleTurnModulus, boolean primeShortestPath, boolean exactFinish) {
+        if (!(greenOdds >= 0 && greenOdds <= 1)) throw new IllegalArgumentException("green odds must be 0..1, got " + greenOdds); // NaN too
+        if (doubleTurnModulus < 0) throw new IllegalArgumentException("double-turn modulus must be >= 0");
+        this.greenOdds = greenOdds;
+        this.doubleTurnModulus = doubleTurnModulus;
+        this.primeShortestPath = primeShortestPath;
+        this.exactFinish = exactFinish;
+    }
+
+    public static RuleConfig parse(String spec) {
+        double green = DEFAULT.greenOdds;
+        int modulus = DEFAULT.doubleTurnModulus;
+        boolean prime = DEFAULT.primeShortestPath, exact = DEFAULT.exactFinish;
+        if (spec == null || spec.isBlank()) return DEFAULT;
+        for (String part : spec.split(",")) {
+            String[] kv = part.split("=", 2);
+            if (kv.length != 2) throw new IllegalArgumentException("bad rule '" + part + "', expected key=value");
+            String v = kv[1].trim();
+            switch (kv[0].trim()) {
+                case "green": green = Double.parseDouble(v); break;
+                case "double": modulus = Integer.parseInt(v); break;
+                case "prime": prime = parseSwitch(v); break;
+                case "exact": exact = parseSwitch(v); break;
+                default: throw new IllegalArgumentException("unknown rule '" + kv[0] + "'");
+            }
+        }
+        return new RuleConfig(green, modulus, prime, exact);
+    }
+
+    private static boolean parseSwitch(String v) {
+        switch (v) {
+            case "on": case "true": case "1": return true;
+            case "off": case "false": case "0": return false;
+            default: throw new IllegalArgumentException("expected on/off, got '" + v + "'");
+        }
+    }
+
+    public CompiledRules compile(BoardGraph graph) {
+        int[][] routes = new int[graph.N + 1][];
+        int[] towards = primeShortestPath ? graph.stepsTowards(graph.distancesTo(graph.N)) : null; // one BFS, not one per prime
+        for (int pos = 1; pos <= graph.N; pos++) {
+            routes[pos] = primeShortestPath && BoardGraph.isPrime(pos) ? toArray(BoardGraph.walk(towards, pos, graph.N)) : null;
+        }
+        return new CompiledRules(this, graph.N, routes);
+    }
+
+    /**
+     * For a board whose links change during play (event mode): prime routes are read off the
+     * graph's incrementally repaired shortest-path tree, no BFS per prime node. Compile again after
+     * every link change.
+     */
+    public CompiledRules compileLive(BoardGraph graph) {
+        int[][] routes = new int[graph.N + 1][];
+        for (int pos = 1; pos <= graph.N; pos++) {
+            routes[pos] = primeShortestPath && BoardGraph.isPrime(pos) ? toArray(graph.pathToTarget(pos)) : null;
+        }
+        return new CompiledRules(this, graph.N, routes);
+    }
+
+    /** Same, with the prime routes taken from a (cached) analysis instead of a BFS per prime node. */
+    public CompiledRules compile(BoardAnalysis analysis) {
+        return new CompiledRules(this, analysis.n, analysis.primeRoutes);
+    }
+
+    static int[] toArray(List<Integer> path) {
+        int[] a = new int[path.size()];
+        for (int i = 0; i < a.length; i++) a[i] = path.get(i);
+        return a;
+    }
+
+    @Override
+    public String toString() {
+        return "green=" + greenOdds + ",double=" + doubleTurnModulus
+                + ",prime=" + (primeShortestPath ? "on" : "off") + ",exact=" + (exactFinish ? "on" : "off");
+    }
+}
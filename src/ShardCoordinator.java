@@ -0,0 +1,244 @@
+import org.example.LogHistogram;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Runs a boards x games simulation in separate worker JVMs on this machine (Main --worker, see
+ * ShardWorker). The boards are cut into shards; up to --workers processes run at a time, each
+ * writing its own memory-mapped ShardFile under --out. A worker that dies or exits non-zero gets
+ * its shard rescheduled, continuing from the last committed row, up to --retries times.
+ * When every shard is done the files are merged in shard order into results.csv (and optionally a
+ * ResultStore), so the output does not depend on scheduling or restarts.
+ *
+ * Shard files of a finished shard are kept: running the same job again over the same --out only
+ * launches the shards that are missing or incomplete.
+ *
+ * Usage: --shards [--boards 100] [--games 1000] [--players 2] [--seed 1] [--board-seed 1] [--rules spec]
+ *                 [--workers N] [--shard-boards K] [--retries 3] [--out dir] [--store dir] [--jvm-opts "..."]
+ */
+public class ShardCoordinator {
+
+    public static final String USAGE = "usage: --shards [--boards 100] [--games 1000] [--players 2] [--seed 1]"
+            + " [--board-seed 1] [--rules spec] [--workers N] [--shard-boards K] [--retries 3] [--out dir]"
+            + " [--store dir] [--jvm-opts \"...\"]";
+
+    private static class Shard {
+        final int index, from, to;
+        final Path file, log;
+        int attempts;
+
+        Shard(int index, int from, int to, Path dir) {
+            this.index = index;
+            this.from = from;
+            this.to = to;
+            this.file = dir.resolve(String.format("shard-%04d.bin", index));
+            this.log = dir.resolve(String.format("shard-%04d.log", index));
+        }
+    }
+
+    private static class Exit {
+        final Shard shard;
+        final int code;
+
+        Exit(Shard shard, int code) {
+            this.shard = shard;
+            this.code = code;
+        }
+    }
+
+    private final int games, players, retries;
+    private final long seed, boardSeed, jobKey;
+    private final RuleConfig rules;
+    private final List<String> jvmOpts;
+    private final Map<Shard, Process> running = new ConcurrentHashMap<>(); // read by the shutdown hook
+    private int launches;
+
+    public ShardCoordinator(int games, int players, long seed, long boardSeed, RuleConfig rules, int retries,
+                            List<String> jvmOpts) {
+        this.games = games;
+        this.players = players;
+        this.seed = seed;
+        this.boardSeed = boardSeed;
+        this.rules = rules;
+        this.retries = retries;
+        this.jvmOpts = jvmOpts;
+        this.jobKey = ShardWorker.jobKey(seed, boardSeed, games, players, rules);
+    }
+
+    /** Runs every shard to completion; false if one kept failing. */
+    private boolean runAll(List<Shard> shards, int workers) throws IOException, InterruptedException {
+        ArrayDeque<Shard> pending = new ArrayDeque<>();
+        for (Shard s : shards) {
+            if (isDone(s)) System.err.println("shard " + s.index + ": already done");
+            else pending.add(s);
+        }
+        LinkedBlockingQueue<Exit> exits = new LinkedBlockingQueue<>();
+        while (!pending.isEmpty() || !running.isEmpty()) {
+            while (!pending.isEmpty() && running.size() < workers) {
+                Shard s = pending.poll();
+                s.attempts++;
+                Process p = launch(s);
+                running.put(s, p);
+                p.onExit().thenAccept(done -> exits.add(new Exit(s, done.exitValue())));
+            }
+            Exit e = exits.take();
+            running.remove(e.shard);
+            if (e.code == 0 && isDone(e.shard)) continue;
+            System.err.println("shard " + e.shard.index + ": worker exited with " + e.code + " (attempt "
+                    + e.shard.attempts + "), see " + e.shard.log);
+            if (e.code == 2 || e.shard.attempts > retries) return false; // bad arguments never get better
+            pending.add(e.shard);
+        }
+        return true;
+    }
+
+    private Process launch(Shard s) throws IOException {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        cmd.addAll(jvmOpts);
+        cmd.addAll(List.of("-cp", System.getProperty("java.class.path"), "Main", "--worker",
+                "--file", s.file.toString(), "--shard", String.valueOf(s.index),
+                "--from", String.valueOf(s.from), "--to", String.valueOf(s.to),
+                "--games", String.valueOf(games), "--players", String.valueOf(players),
+                "--seed", String.valueOf(seed), "--board-seed", String.valueOf(boardSeed),
+                "--rules", rules.toString()));
+        launches++;
+        return new ProcessBuilder(cmd)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(s.log.toFile()))
+                .start();
+    }
+
+    private boolean isDone(Shard s) throws IOException {
+        try (ShardFile f = ShardFile.openForRead(s.file)) {
+            return f != null && f.isDone() && f.matches(s.index, jobKey, s.from, s.to, games, players);
+        }
+    }
+
+    private void killAll() {
+        for (Process p : running.values()) p.destroyForcibly();
+    }
+
+    public static int run(String[] args) {
+        int boards = 100, games = 1000, players = 2, retries = 3, shardBoards = 0;
+        int workers = Runtime.getRuntime().availableProcessors();
+        long seed = 1, boardSeed = 1;
+        RuleConfig rules = RuleConfig.DEFAULT;
+        Path out = Path.of("shards");
+        String storeDir = null;
+        List<String> jvmOpts = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String a = args[i];
+                if (i + 1 >= args.length) throw new IllegalArgumentException("missing value for " + a);
+                String v = args[++i];
+                switch (a) {
+                    case "--boards": boards = Integer.parseInt(v); break;
+                    case "--games": games = Integer.parseInt(v); break;
+                    case "--players": players = Integer.parseInt(v); break;
+                    case "--seed": seed = Long.parseLong(v); break;
+                    case "--board-seed": boardSeed = Long.parseLong(v); break;
+                    case "--rules": rules = RuleConfig.parse(v); break;
+                    case "--workers": workers = Integer.parseInt(v); break;
+                    case "--shard-boards": shardBoards = Integer.parseInt(v); break;
+                    case "--retries": retries = Integer.parseInt(v); break;
+                    case "--out": out = Path.of(v); break;
+                    case "--store": storeDir = v; break;
+                    case "--jvm-opts": jvmOpts = Arrays.asList(v.trim().split("\\s+")); break;
+                    default: throw new IllegalArgumentException("unknown option " + a);
+                }
+            }
+            if (boards < 1 || games < 1 || workers < 1 || retries < 0) {
+                throw new IllegalArgumentException("--boards, --games and --workers must be >= 1");
+            }
+            if (players < 1 || players > 6) throw new IllegalArgumentException("players must be 1..6");
+            // a few shards per worker, so a restart repeats little and the last shards finish together
+            if (shardBoards < 1) shardBoards = Math.max(1, boards / (workers * 4));
+            if (ShardFile.rowCount(0, shardBoards, games) > ShardFile.maxRows()) {
+                throw new IllegalArgumentException("shard too large, lower --shard-boards");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+        if (jvmOpts.size() == 1 && jvmOpts.get(0).isEmpty()) jvmOpts = List.of();
+
+        List<Shard> shards = new ArrayList<>();
+        for (int from = 0; from < boards; from += shardBoards) {
+            shards.add(new Shard(shards.size(), from, Math.min(boards, from + shardBoards), out));
+        }
+
+        ShardCoordinator c = new ShardCoordinator(games, players, seed, boardSeed, rules, retries, jvmOpts);
+        Thread cleanup = new Thread(c::killAll);
+        Runtime.getRuntime().addShutdownHook(cleanup);
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(out);
+            System.err.printf("%d boards x %d games in %d shards, %d workers%n", boards, games, shards.size(), workers);
+            if (!c.runAll(shards, workers)) {
+                c.killAll();
+                System.err.println("giving up after " + retries + " retries");
+                return 1;
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long rows = merge(shards, out.resolve("results.csv"), storeDir == null ? null : Path.of(storeDir), boardSeed);
+            System.err.printf("%d games, %d worker launches for %d shards, %.2f s, %.0f games/s%n",
+                    rows, c.launches, shards.size(), seconds, rows / seconds);
+        } catch (IOException e) {
+            c.killAll();
+            System.err.println("sharded run failed: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            c.killAll();
+            Thread.currentThread().interrupt();
+            return 1;
+        } finally {
+            try {
+                Runtime.getRuntime().removeShutdownHook(cleanup);
+            } catch (IllegalStateException ignored) {
+                // already shutting down
+            }
+        }
+        return 0;
+    }
+
+    /** Concatenates the shard files in order; returns the number of games. */
+    private static long merge(List<Shard> shards, Path csv, Path storeDir, long boardSeed) throws IOException {
+        LogHistogram turns = new LogHistogram(HeadlessGame.MAX_TURNS, 8);
+        long rows = 0;
+        ResultStore store = storeDir == null ? null : ResultStore.open(storeDir);
+        long now = System.currentTimeMillis();
+        try (BufferedWriter w = Files.newBufferedWriter(csv)) {
+            w.write("board_seed,game,seed,players,turns,winner,backward_moves,double_turns,fingerprint\n");
+            for (Shard s : shards) {
+                try (ShardFile f = ShardFile.openForRead(s.file)) {
+                    for (long i = 0; i < f.rows; i++) {
+                        ShardFile.Row row = f.row(i);
+                        GameResult r = row.result;
+                        w.write((boardSeed + row.board) + "," + row.game + "," + r.seed + "," + r.players + ","
+                                + r.turns + "," + r.winner + "," + r.backwardMoves + "," + r.doubleTurns + ","
+                                + Long.toHexString(row.fingerprint) + "\n");
+                        turns.record(r.turns);
+                        if (store != null) store.append(row.fingerprint, now, r);
+                    }
+                    rows += f.rows;
+                }
+            }
+        } finally {
+            if (store != null) store.close();
+        }
+        System.err.println("turns: " + turns.summary());
+        return rows;
+    }
+}
@@ -0,0 +1,161 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Output of one simulation shard (boards [from, to) x games), written by a single worker process
+ * through a memory mapping sized for every row up front.
+ *
+ * Layout:
+ *   0  int  magic        4  int  shard        8  long job key (hash of the job parameters)
+ *  16  int  from        20  int  to          24  int  games per board   28  int players
+ *  32  long rows        40  long committed   48  int  done
+ *  64  rows of ROW bytes: seed, board fingerprint, board, game, turns, backward, doubles, winner, players
+ *
+ * `committed` is bumped after each row, so when a worker is killed the rows before it are intact
+ * (the pages belong to the kernel, not the process) and a rescheduled worker continues from there.
+ * `done` is set only after everything is forced to disk.
+ */
+public class ShardFile implements Closeable {
+
+    public static final int MAGIC = 0x4c534844; // "LSHD"
+    static final int HEADER = 64;
+    static final int ROW = 40;
+    static final int OFF_COMMITTED = 40, OFF_DONE = 48;
+
+    /** One game as stored in a shard. */
+    public static class Row {
+        public final int board, game;
+        public final long fingerprint;
+        public final GameResult result;
+
+        Row(int board, int game, long fingerprint, GameResult result) {
+            this.board = board;
+            this.game = game;
+            this.fingerprint = fingerprint;
+            this.result = result;
+        }
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buf;
+    public final int shard, from, to, games, players;
+    public final long jobKey, rows;
+
+    private ShardFile(FileChannel channel, MappedByteBuffer buf) {
+        this.channel = channel;
+        this.buf = buf;
+        this.shard = buf.getInt(4);
+        this.jobKey = buf.getLong(8);
+        this.from = buf.getInt(16);
+        this.to = buf.getInt(20);
+        this.games = buf.getInt(24);
+        this.players = buf.getInt(28);
+        this.rows = buf.getLong(32);
+    }
+
+    public static long rowCount(int from, int to, int games) {
+        return (long) (to - from) * games;
+    }
+
+    /** Largest shard (in rows) that still fits in one mapping. */
+    public static long maxRows() {
+        return (Integer.MAX_VALUE - HEADER) / ROW;
+    }
+
+    /**
+     * Opens the file for writing. A file left by an earlier attempt at the same shard of the same
+     * job is kept and continued from its committed row; anything else is replaced.
+     */
+    public static ShardFile openForWrite(Path file, int shard, long jobKey, int from, int to, int games, int players)
+            throws IOException {
+        long rows = rowCount(from, to, games);
+        if (rows > maxRows()) throw new IllegalArgumentException("shard too large: " + rows + " rows");
+        long size = HEADER + rows * ROW;
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            boolean resume = false;
+            if (ch.size() == size) {
+                ShardFile old = new ShardFile(ch, ch.map(FileChannel.MapMode.READ_WRITE, 0, size));
+                resume = old.buf.getInt(0) == MAGIC && old.shard == shard && old.jobKey == jobKey
+                        && old.from == from && old.to == to && old.games == games && old.players == players
+                        && old.committed() <= rows;
+                if (resume) return old;
+            }
+            ch.truncate(0);
+            MappedByteBuffer m = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            m.putInt(4, shard).putLong(8, jobKey).putInt(16, from).putInt(20, to).putInt(24, games)
+                    .putInt(28, players).putLong(32, rows).putLong(OFF_COMMITTED, 0).putInt(OFF_DONE, 0);
+            m.putInt(0, MAGIC); // last: a half-written header never looks valid
+            return new ShardFile(ch, m);
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /** Opens an existing shard file read-only; null if it is missing or not a shard file. */
+    public static ShardFile openForRead(Path file) throws IOException {
+        if (!Files.exists(file)) return null;
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+        long size = ch.size();
+        if (size < HEADER || size > Integer.MAX_VALUE) {
+            ch.close();
+            return null;
+        }
+        ShardFile f = new ShardFile(ch, ch.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        if (f.buf.getInt(0) != MAGIC || size != HEADER + f.rows * ROW) {
+            f.close();
+            return null;
+        }
+        return f;
+    }
+
+    public long committed() {
+        return buf.getLong(OFF_COMMITTED);
+    }
+
+    public boolean isDone() {
+        return buf.getInt(OFF_DONE) == 1 && committed() == rows;
+    }
+
+    /** True if this is the finished output of exactly this shard of this job. */
+    public boolean matches(int shard, long jobKey, int from, int to, int games, int players) {
+        return this.shard == shard && this.jobKey == jobKey && this.from == from && this.to == to
+                && this.games == games && this.players == players;
+    }
+
+    public void append(int board, int game, long fingerprint, GameResult r) {
+        long n = committed();
+        if (n == rows) throw new IllegalStateException("shard " + shard + " is full");
+        int at = (int) (HEADER + n * ROW);
+        buf.putLong(at, r.seed).putLong(at + 8, fingerprint).putInt(at + 16, board).putInt(at + 20, game)
+                .putInt(at + 24, r.turns).putInt(at + 28, r.backwardMoves).putInt(at + 32, r.doubleTurns)
+                .put(at + 36, (byte) r.winner).put(at + 37, (byte) r.players);
+        buf.putLong(OFF_COMMITTED, n + 1);
+    }
+
+    /** Flushes the rows, then marks the shard done and flushes again. */
+    public void finish() {
+        buf.force();
+        buf.putInt(OFF_DONE, 1);
+        buf.force();
+    }
+
+    public Row row(long i) {
+        int at = (int) (HEADER + i * ROW);
+        GameResult r = new GameResult(buf.getLong(at), buf.get(at + 37), buf.getInt(at + 24), buf.get(at + 36),
+                buf.getInt(at + 28), buf.getInt(at + 32));
+        return new Row(buf.getInt(at + 16), buf.getInt(at + 20), buf.getLong(at + 8), r);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
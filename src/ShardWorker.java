@@ -0,0 +1,85 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Worker process of a sharded run (see ShardCoordinator): plays boards [from, to) x games with
+ * HeadlessGame and writes every result into its ShardFile. Board b is BoardGraph(new Random(boardSeed + b)),
+ * game g on it uses seed SplittableRandom(seed + b * games + g), so a shard gives the same rows no
+ * matter which process runs it or how often it is restarted.
+ *
+ * Usage: --worker --file f --shard i --from a --to b --games G --players P --seed S --board-seed B [--rules spec]
+ * Exit code 0 = shard done, 1 = I/O error, 2 = bad arguments.
+ */
+public class ShardWorker {
+
+    public static final String USAGE = "usage: --worker --file f --shard i --from a --to b --games G --players P"
+            + " --seed S --board-seed B [--rules spec]";
+
+    public static int run(String[] args) {
+        Path file = null;
+        int shard = -1, from = -1, to = -1, games = -1, players = -1;
+        long seed = 0, boardSeed = 0;
+        RuleConfig rules = RuleConfig.DEFAULT;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String a = args[i];
+                if (i + 1 >= args.length) throw new IllegalArgumentException("missing value for " + a);
+                String v = args[++i];
+                switch (a) {
+                    case "--file": file = Path.of(v); break;
+                    case "--shard": shard = Integer.parseInt(v); break;
+                    case "--from": from = Integer.parseInt(v); break;
+                    case "--to": to = Integer.parseInt(v); break;
+                    case "--games": games = Integer.parseInt(v); break;
+                    case "--players": players = Integer.parseInt(v); break;
+                    case "--seed": seed = Long.parseLong(v); break;
+                    case "--board-seed": boardSeed = Long.parseLong(v); break;
+                    case "--rules": rules = RuleConfig.parse(v); break;
+                    default: throw new IllegalArgumentException("unknown option " + a);
+                }
+            }
+            if (file == null || shard < 0 || from < 0 || to <= from || games < 1) {
+                throw new IllegalArgumentException("--file, --shard, --from, --to and --games are required");
+            }
+            if (players < 1 || players > 6) throw new IllegalArgumentException("players must be 1..6");
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        long key = jobKey(seed, boardSeed, games, players, rules);
+        try (ShardFile out = ShardFile.openForWrite(file, shard, key, from, to, games, players)) {
+            long done = out.committed();
+            if (done > 0) System.err.println("shard " + shard + ": resuming at row " + done);
+            for (int b = from + (int) (done / games); b < to; b++) {
+                BoardGraph graph = new BoardGraph(new Random(boardSeed + b));
+                HeadlessGame game = new HeadlessGame(rules.compile(graph), players);
+                long fingerprint = graph.fingerprint();
+                int first = b == from + (int) (done / games) ? (int) (done % games) : 0;
+                for (int g = first; g < games; g++) {
+                    long gameSeed = new SplittableRandom(seed + (long) b * games + g).nextLong();
+                    out.append(b, g, fingerprint, game.play(gameSeed));
+                }
+            }
+            out.finish();
+        } catch (IOException e) {
+            System.err.println("shard " + shard + ": " + e.getMessage());
+            return 1;
+        }
+        return 0;
+    }
+
+    /** Identifies the job a shard file belongs to, so a stale file from another run is never resumed. */
+    public static long jobKey(long seed, long boardSeed, int games, int players, RuleConfig rules) {
+        String s = seed + "|" + boardSeed + "|" + games + "|" + players + "|" + rules;
+        long h = 0xcbf29ce484222325L; // FNV-1a
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
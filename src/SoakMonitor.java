@@ -0,0 +1,240 @@
+package org.example;
+
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Trend sampling for long unattended sessions. Every sample interval one CSV row is appended (and
+ * flushed, so a killed run still leaves its trend): games and turns so far, turns/s, heap used and
+ * heap left after the last GC, GC count / pause time in the interval, EDT latency percentiles and
+ * any gauges the UI registered (read on the EDT).
+ *
+ * EDT latency is measured by posting an empty invokeLater every PROBE_MS and timing how long it
+ * waits. stop() writes the last row and prints a summary comparing the first and last quarter of
+ * the run, with a least-squares heap-after-GC slope.
+ */
+public class SoakMonitor {
+
+    static final long PROBE_MS = 20;
+
+    private final Path report;
+    private final long sampleMillis;
+    private final Map<String, LongSupplier> gauges = new LinkedHashMap<>();
+    private final AtomicLong turns = new AtomicLong();
+    private final AtomicLong games = new AtomicLong();
+    private LogHistogram edtMicros = newHistogram(); // EDT only: recorded and swapped there
+    private final List<double[]> rows = new ArrayList<>(); // sampler thread only
+
+    private PrintWriter out;
+    private Thread sampler, prober;
+    private volatile boolean running;
+    private long startNanos, lastNanos, lastTurns, lastGcCount, lastGcMillis;
+
+    public SoakMonitor(Path report, long sampleMillis) {
+        this.report = report;
+        this.sampleMillis = sampleMillis;
+    }
+
+    private static LogHistogram newHistogram() {
+        return new LogHistogram(60_000_000, 8);
+    }
+
+    /** A value to record each sample, e.g. text length of a log area. Called on the EDT. */
+    public void gauge(String name, LongSupplier onEdt) {
+        gauges.put(name, onEdt);
+    }
+
+    public void turn() {
+        turns.incrementAndGet();
+    }
+
+    public void game() {
+        games.incrementAndGet();
+    }
+
+    public long games() {
+        return games.get();
+    }
+
+    public synchronized void start() throws IOException {
+        out = new PrintWriter(Files.newBufferedWriter(report));
+        StringBuilder header = new StringBuilder("elapsed_s,games,turns,turns_per_s,heap_used_mb,heap_after_gc_mb,"
+                + "gc_count,gc_ms,edt_p50_us,edt_p99_us,edt_max_us,threads");
+        for (String g : gauges.keySet()) header.append(',').append(g);
+        out.println(header);
+        out.flush();
+
+        startNanos = lastNanos = System.nanoTime();
+        long[] gc = gcTotals();
+        lastGcCount = gc[0];
+        lastGcMillis = gc[1];
+        running = true;
+
+        prober = daemon("soak-edt-probe", () -> {
+            while (running) {
+                long posted = System.nanoTime();
+                SwingUtilities.invokeLater(() -> edtMicros.record((System.nanoTime() - posted) / 1000));
+                if (!sleep(PROBE_MS)) return;
+            }
+        });
+        sampler = daemon("soak-sampler", () -> {
+            while (running) {
+                if (!sleep(sampleMillis)) return;
+                sample();
+            }
+        });
+    }
+
+    /** Writes the last row, closes the report and prints the trend summary. */
+    public void stop() {
+        if (!running) return;
+        running = false;
+        sampler.interrupt();
+        prober.interrupt();
+        try {
+            sampler.join();
+            prober.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sample();
+        synchronized (this) {
+            out.close();
+        }
+        System.out.println(summary());
+    }
+
+    private void sample() {
+        long now = System.nanoTime();
+        long t = turns.get();
+        long[] gc = gcTotals();
+        long[] values = new long[gauges.size()];
+        LogHistogram[] edt = new LogHistogram[1];
+        Runnable readGauges = () -> {
+            int i = 0;
+            for (LongSupplier g : gauges.values()) values[i++] = g.getAsLong();
+            edt[0] = edtMicros; // the probe records on the EDT, so swapping here needs no locking
+            edtMicros = newHistogram();
+        };
+        try {
+            // gauges read UI state, so on the EDT (stop() may already be there)
+            if (SwingUtilities.isEventDispatchThread()) readGauges.run();
+            else SwingUtilities.invokeAndWait(readGauges);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (java.lang.reflect.InvocationTargetException e) {
+            throw new IllegalStateException("soak gauge failed", e.getCause());
+        }
+        if (edt[0] == null) return; // interrupted (stop) before the EDT ran it; stop() samples again
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        double seconds = (now - lastNanos) / 1e9;
+        double[] row = {
+                (now - startNanos) / 1e9, games.get(), t, seconds > 0 ? (t - lastTurns) / seconds : 0,
+                heap.getUsed() / 1048576.0, heapAfterGc() / 1048576.0, gc[0] - lastGcCount, gc[1] - lastGcMillis,
+                edt[0].percentile(50), edt[0].percentile(99), edt[0].max(), Thread.activeCount()
+        };
+        lastNanos = now;
+        lastTurns = t;
+        lastGcCount = gc[0];
+        lastGcMillis = gc[1];
+        rows.add(row);
+
+        StringBuilder line = new StringBuilder(String.format("%.1f,%d,%d,%.1f,%.1f,%.1f,%d,%d,%d,%d,%d,%d",
+                row[0], (long) row[1], (long) row[2], row[3], row[4], row[5], (long) row[6], (long) row[7],
+                (long) row[8], (long) row[9], (long) row[10], (long) row[11]));
+        for (long v : values) line.append(',').append(v);
+        synchronized (this) {
+            out.println(line);
+            out.flush();
+        }
+    }
+
+    private static long[] gcTotals() {
+        long count = 0, millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, millis};
+    }
+
+    /** Heap in use right after the most recent collection (any collector); what a leak makes grow. */
+    private static long heapAfterGc() {
+        com.sun.management.GcInfo latest = null;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(gc instanceof com.sun.management.GarbageCollectorMXBean)) continue;
+            com.sun.management.GcInfo info = ((com.sun.management.GarbageCollectorMXBean) gc).getLastGcInfo();
+            if (info != null && (latest == null || info.getEndTime() > latest.getEndTime())) latest = info;
+        }
+        if (latest == null) return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage u = pool.getType() == MemoryType.HEAP ? latest.getMemoryUsageAfterGc().get(pool.getName()) : null;
+            if (u != null) used += u.getUsed();
+        }
+        return used;
+    }
+
+    /** First vs last quarter of the samples, and the heap-after-GC slope in MB per hour. */
+    public String summary() {
+        if (rows.size() < 4) return "soak: " + rows.size() + " samples, too few for a trend";
+        int q = rows.size() / 4;
+        double[] first = mean(rows.subList(0, q)), last = mean(rows.subList(rows.size() - q, rows.size()));
+
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (double[] r : rows) {
+            sx += r[0];
+            sy += r[5];
+            sxx += r[0] * r[0];
+            sxy += r[0] * r[5];
+        }
+        int n = rows.size();
+        double slope = (n * sxy - sx * sy) / (n * sxx - sx * sx) * 3600;
+
+        double[] end = rows.get(n - 1);
+        return String.format("soak: %d games, %d turns in %.0f s, %d samples -> %s%n"
+                        + "  turns/s       first quarter %.1f, last quarter %.1f%n"
+                        + "  heap after GC first quarter %.1f MB, last quarter %.1f MB, slope %+.1f MB/h%n"
+                        + "  EDT p99       first quarter %.0f us, last quarter %.0f us%n"
+                        + "  GC            %.0f ms/sample first quarter, %.0f ms/sample last quarter",
+                (long) end[1], (long) end[2], end[0], n, report,
+                first[3], last[3], first[5], last[5], slope, first[9], last[9], first[7], last[7]);
+    }
+
+    private static double[] mean(List<double[]> rs) {
+        double[] m = new double[rs.get(0).length];
+        for (double[] r : rs) for (int i = 0; i < m.length; i++) m[i] += r[i] / rs.size();
+        return m;
+    }
+
+    private static Thread daemon(String name, Runnable r) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+}
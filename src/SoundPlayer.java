@@ -1,7 +1,17 @@
+import org.example.LogHistogram;
+import org.example.SoakMonitor;
+import org.example.StartupProbe;
+import org.example.TurnPipeline;
+import org.example.UiCache;
+
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 public class GameUI {
 
@@ -15,18 +25,63 @@ public class GameUI {
     private final JPanel boardPanel = new JPanel(new GridLayout(8, 8, 2, 2));
     private final CellPanel[] cells = new CellPanel[65];
 
-    private final Random rnd = new Random();
+    // the game core (startGame / playTurn) runs here; the EDT only shows its events
+    private final TurnPipeline turns = new TurnPipeline();
+    // per session, in microseconds, recorded on the EDT: turn thread work, and click -> turn resolved back on the EDT
+    private final LogHistogram planMicros = new LogHistogram(60_000_000, 8);
+    private final LogHistogram turnLatencyMicros = new LogHistogram(60_000_000, 8);
 
     private BoardGraph graph;
+    // -Dladder.rules=green=0.6,double=4,... for a variant; compiled per board in onPlay
+    private final RuleConfig ruleConfig = RuleConfig.parse(System.getProperty("ladder.rules"));
+    private CompiledRules rules;
+    private BoardAnalysis analysis;
+
+    // heatmap overlay: chance to reach 64 within K rolls per cell, one per K for the current board
+    private final JCheckBox heatmapBox = new JCheckBox("Peta peluang");
+    private final JSpinner heatmapTurns = new JSpinner(new SpinnerNumberModel(10, 1, 200, 1));
+    private final Map<Integer, CompletableFuture<Heatmap>> heatmaps = new HashMap<>();
+
+    // event mode: every EVENT_EVERY turns a snake/ladder appears or vanishes
+    static final int EVENT_EVERY = 5;
+    private final JCheckBox eventBox = new JCheckBox("Mode event");
+    private final Random eventRnd = new Random();
+
+    // game state, turn thread only: see startGame / playTurn
+    private List<Player> seats;
     private LinkedList<Player> turnQueue;
     private Player currentPlayer;
+    private int turnNo;
+    private volatile long stepsTotal; // all steps stacks, for the soak gauge
+
+    // what the EDT shows, moved along by BoardView
+    private List<Player> players = List.of(); // seat order, for event player indices
+    private int[] shown = new int[0];         // seat -> node
+    private int currentSeat;
+
+    // the game core publishes every rule step here from the turn thread (blocking when a subscriber
+    // is behind); board, log, metrics and spectators each drain at their own pace
+    private final GameEventStream events = new GameEventStream();
+    private final EventMetrics metrics = new EventMetrics();
 
     private boolean gameRunning = false;
     private boolean animating = false;
 
+    // ms per node moved; -Dladder.animMs=1 for soak runs
+    private final int animMs = Integer.getInteger("ladder.animMs", 250);
+    // -Dladder.soak=N: auto-play N games without dialogs, trend CSV in -Dladder.soakReport (soak.csv)
+    private final int soakGames = Integer.getInteger("ladder.soak", 0);
+    private SoakMonitor soak;
+
+    private JSplitPane split;
+
     public void show() {
         buildUI();
+        StartupProbe.watch(frame);
         frame.setVisible(true);
+        // side panel (buttons, info, graph text) right after the board is on screen
+        SwingUtilities.invokeLater(this::buildSidePanel);
+        if (soakGames > 0) SwingUtilities.invokeLater(this::startSoak);
     }
 
     private void buildUI() {
@@ -40,15 +95,46 @@ public class GameUI {
             boardPanel.add(cells[i]);
         }
 
+        split = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, boardPanel, new JPanel());
+        split.setDividerLocation(700);
+        frame.add(split);
+
+        rollBtn.setEnabled(false);
+        playBtn.addActionListener(e -> onPlay());
+        rollBtn.addActionListener(e -> onRollDice());
+
+        refreshBoardOccupants();
+        logInfo("Klik Play untuk memulai.");
+
+        events.subscribe(new BoardView());
+        events.subscribe(new LogView());
+        events.subscribe(metrics);
+
+        // -Dladder.spectatorRing=/dev/shm/ladder.ring lets other processes watch (Main --spectate <file>)
+        String ringFile = System.getProperty("ladder.spectatorRing");
+        if (ringFile != null) {
+            try {
+                events.subscribe(new SpectatorBroadcaster(SpectatorRing.create(Path.of(ringFile), 4096)));
+            } catch (IOException ex) {
+                logInfo("Spectator ring tidak bisa dibuat: " + ex.getMessage());
+            }
+        }
+    }
+
+    private void buildSidePanel() {
         JPanel rightPanel = new JPanel();
         rightPanel.setLayout(new BoxLayout(rightPanel, BoxLayout.Y_AXIS));
         rightPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
-        rollBtn.setEnabled(false);
-
         JPanel btnRow = new JPanel(new FlowLayout(FlowLayout.LEFT));
         btnRow.add(playBtn);
         btnRow.add(rollBtn);
+        btnRow.add(heatmapBox);
+        btnRow.add(new JLabel("K lemparan:")); // rolls, a double turn rolls again
+        btnRow.add(heatmapTurns);
+        btnRow.add(eventBox);
+        heatmapBox.addActionListener(e -> updateHeatmap());
+        heatmapTurns.addChangeListener(e -> updateHeatmap());
 
         infoArea.setEditable(false);
         infoArea.setLineWrap(true);
@@ -66,35 +152,85 @@ public class GameUI {
         rightPanel.add(Box.createVerticalStrut(8));
         rightPanel.add(new JScrollPane(graphArea));
 
-        JSplitPane split = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, boardPanel, rightPanel);
+        split.setRightComponent(rightPanel);
         split.setDividerLocation(700);
-        frame.add(split);
-
-        playBtn.addActionListener(e -> onPlay());
-        rollBtn.addActionListener(e -> onRollDice());
-
-        refreshBoardOccupants(Collections.emptyList());
-        logInfo("Klik Play untuk memulai.");
     }
 
     private void onPlay() {
-        graph = new BoardGraph();
-        renderGraphInfo();
-
-        List<Player> players = promptPlayers();
+        turns.cancel();
+        List<Player> players = soak != null ? soakPlayers() : promptPlayers();
         if (players.isEmpty()) return;
 
-        turnQueue = new LinkedList<>(players);
-        currentPlayer = null;
+        rollBtn.setEnabled(false);
+        playBtn.setEnabled(false);
 
-        gameRunning = true;
-        animating = false;
+        // board, analysis and rules are built on the turn thread like any other game work;
+        // the EDT only installs the finished board and then starts the game behind it
+        turns.submit(() -> new NewBoard(ruleConfig), board -> {
+            graph = board.graph;
+            analysis = board.analysis;
+            rules = board.rules;
+            cancelHeatmaps(); // new board
+            updateHeatmap();
+            renderGraphInfo();
+
+            this.players = players;
+            shown = new int[players.size()];
+            Arrays.fill(shown, 1);
+            currentSeat = 0;
+
+            gameRunning = true;
+            animating = true; // until the first TURN event
+
+            refreshBoardOccupants();
+            turns.submit(() -> {
+                startGame(players);
+                return null;
+            }, none -> { }, ex -> logInfo("Game gagal dimulai: " + ex));
+        }, ex -> {
+            logInfo("Papan gagal dibuat: " + ex);
+            if (soak != null) {
+                soak.stop();
+                System.err.println("soak aborted, board failed: " + ex);
+                System.exit(1);
+            }
+            playBtn.setEnabled(true);
+        });
+    }
 
-        rollBtn.setEnabled(true);
-        playBtn.setEnabled(false);
+    /** A fresh board with its analysis and compiled rules, built off the EDT in onPlay. */
+    private static final class NewBoard {
+        final BoardGraph graph = new BoardGraph();
+        final BoardAnalysis analysis = BoardAnalysisCache.shared().get(graph);
+        final CompiledRules rules;
 
-        refreshBoardOccupants(players);
-        nextTurn();
+        NewBoard(RuleConfig config) {
+            rules = config.compile(analysis);
+        }
+    }
+
+    private void startSoak() {
+        soak = new SoakMonitor(Path.of(System.getProperty("ladder.soakReport", "soak.csv")),
+                Long.getLong("ladder.soakSampleMs", 5000));
+        // the usual suspects for slow growth over a long session
+        soak.gauge("info_chars", () -> infoArea.getDocument().getLength());
+        soak.gauge("steps_total", () -> stepsTotal);
+        soak.gauge("cell_updates", CellPanel::updates);
+        try {
+            soak.start();
+        } catch (IOException ex) {
+            logInfo("Soak report tidak bisa dibuat: " + ex.getMessage());
+            soak = null;
+            return;
+        }
+        logInfo("Soak: " + soakGames + " game otomatis.");
+        onPlay();
+    }
+
+    private List<Player> soakPlayers() {
+        List<Player> seats = new ArrayList<>();
+        for (int i = 0; i < 4; i++) seats.add(new Player("Player " + (i + 1), UiCache.seatColor(i)));
+        return seats;
     }
 
     private List<Player> promptPlayers() {
@@ -125,18 +261,9 @@ public class GameUI {
         }
         while (names.size() < count) names.add("Player " + (names.size() + 1));
 
-        Color[] palette = new Color[]{
-                new Color(0x1f77b4),
-                new Color(0xff7f0e),
-                new Color(0x2ca02c),
-                new Color(0xd62728),
-                new Color(0x9467bd),
-                new Color(0x8c564b)
-        };
-
         List<Player> players = new ArrayList<>();
         for (int i = 0; i < count; i++) {
-            players.add(new Player(names.get(i), palette[i % palette.length]));
+            players.add(new Player(names.get(i), UiCache.seatColor(i)));
         }
 
         logInfo("Pemain dibuat: " + String.join(", ", names.subList(0, count)));
@@ -145,220 +272,328 @@ public class GameUI {
 
     private void onRollDice() {
         if (!gameRunning || animating) return;
-        if (currentPlayer == null) return;
 
-        DiceResult dr = rollDice();
-        String colorText = dr.green ? "HIJAU (maju)" : "MERAH (mundur)";
-        logInfo("🎲 " + currentPlayer.name + " roll: " + dr.value + " [" + colorText + "]");
+        animating = true; // until the board has shown the turn (next TURN event)
+        rollBtn.setEnabled(false);
 
-        if (dr.green) {
-            boolean primeStart = BoardGraph.isPrime(currentPlayer.position);
-            if (primeStart) {
-                logInfo("✨ Start " + currentPlayer.position + " prima -> shortest path aktif (menuju 64).");
-                moveForwardAlongShortestPath(currentPlayer, dr.value);
-            } else {
-                moveForwardSequential(currentPlayer, dr.value);
+        long clicked = System.nanoTime();
+        CompiledRules r = rules;
+        turns.submit(() -> {
+            long t = System.nanoTime();
+            playTurn(r);
+            return (System.nanoTime() - t) / 1000;
+        }, micros -> {
+            planMicros.record(micros);
+            turnLatencyMicros.record((System.nanoTime() - clicked) / 1000);
+            if (soak != null) soak.turn();
+        }, ex -> {
+            logInfo("Giliran gagal dihitung: " + ex);
+            if (soak != null) { // unattended, nobody clicks again: end the run instead of stalling
+                soak.stop();
+                System.err.println("soak aborted, turn plan failed: " + ex);
+                System.exit(1);
             }
-        } else {
-            moveBackwardWithStack(currentPlayer, dr.value);
-        }
+            animating = false;
+            rollBtn.setEnabled(true);
+        });
     }
 
-    private DiceResult rollDice() {
-        int value = 1 + rnd.nextInt(6);
-        double r = rnd.nextDouble(); // 0..1
-        boolean green = (r <= 0.7);
-        return new DiceResult(value, green);
+    // ---- game core: turn thread only (TurnPipeline). The EDT sees the game through its events. ----
+
+    /** New game: everyone on node 1, first seat to play. */
+    private void startGame(List<Player> players) {
+        seats = players;
+        turnQueue = new LinkedList<>(players);
+        turnNo = 0;
+        stepsTotal = players.size();
+        nextTurn(events.isActive());
     }
 
-    private void moveForwardSequential(Player p, int steps) {
-        List<Integer> path = new ArrayList<>();
-        int pos = p.position;
+    /** One roll of the current player, published as ROLL, STEP/JUMP per node, DOUBLE_TURN / WIN, next TURN. */
+    private void playTurn(CompiledRules r) {
+        Player p = currentPlayer;
+        int seat = seats.indexOf(p);
+        int start = p.position;
+        turnNo++;
+        boolean emit = events.isActive(); // checked once per turn, like HeadlessGame
+        DiceResult dr = rollDice(r);
+        if (emit) events.publish(GameEvent.roll(turnNo, seat, start, dr.value, dr.green, dr.green && r.primeStart(start)));
 
-        for (int i = 0; i < steps; i++) {
-            if (pos >= 64) break;
-            pos += 1;
-            path.add(pos);
+        if (dr.green) {
+            for (int node : r.forward(start, dr.value)) {
+                if (emit) events.publish(GameEvent.move(turnNo, seat, p.position, node));
+                p.pushStep(node);
+                stepsTotal++;
+                if (p.position >= r.target) break;
+            }
+        } else {
+            for (int i = 0; i < dr.value && p.steps.size() > 1; i++) {
+                int from = p.position;
+                p.popStepIfPossible();
+                stepsTotal--;
+                if (emit) events.publish(GameEvent.move(turnNo, seat, from, p.position));
+            }
         }
 
-        if (path.isEmpty()) {
-            endTurnAfterMove(p);
+        if (p.position >= r.target) {
+            if (emit) events.publish(GameEvent.win(turnNo, seat, p.position));
+            currentPlayer = null;
             return;
         }
+        if (r.isDoubleTurn(p.position)) {
+            if (emit) events.publish(GameEvent.doubleTurn(turnNo, seat, p.position));
+            // push ke depan queue (main lagi)
+            turnQueue.addFirst(p);
+        } else {
+            // normal ke belakang queue
+            turnQueue.addLast(p);
+        }
+        nextTurn(emit);
+    }
 
-        SoundPlayer.playWavSafe("yeay.wav");
-        animatePathPush(p, path, () -> endTurnAfterMove(p));
+    private void nextTurn(boolean emit) {
+        // poll from queue
+        currentPlayer = turnQueue.poll();
+        if (emit) events.publish(GameEvent.turn(turnNo + 1, seats.indexOf(currentPlayer), currentPlayer.position));
     }
 
-    private void moveForwardAlongShortestPath(Player p, int diceSteps) {
-        List<Integer> sp = graph.shortestPath(p.position, 64);
-        if (sp.isEmpty()) {
-            moveForwardSequential(p, diceSteps);
-            return;
-        }
+    private DiceResult rollDice(CompiledRules r) {
+        DiceSource dice = DiceSource.local(); // the turn thread's own generator
+        dice.setGreenOdds(r.greenOdds);
+        return DiceResult.of(dice.next());
+    }
 
-        int moveCount = Math.min(diceSteps, sp.size() - 1);
-        List<Integer> path = new ArrayList<>();
-        for (int i = 1; i <= moveCount; i++) {
-            path.add(sp.get(i));
-        }
+    // ---- EDT ----
 
-        if (path.isEmpty()) {
-            endTurnAfterMove(p);
-            return;
-        }
+    /**
+     * The board: moves tokens one node per animMs tick, in event order. Events between moves are
+     * handled at once; the roll button comes back with the next TURN.
+     */
+    private final class BoardView extends CoalescingSubscriber {
+        private final ArrayDeque<GameEvent> pending = new ArrayDeque<>();
+        private final Timer timer = new Timer(animMs, e -> tick());
+        private String sound; // of the last ROLL, played with its first move
 
-        SoundPlayer.playWavSafe("yeay.wav");
-        animatePathPush(p, path, () -> endTurnAfterMove(p));
-    }
+        BoardView() {
+            super(SwingUtilities::invokeLater, GameEventStream.BUFFER);
+        }
 
-    private void moveBackwardWithStack(Player p, int steps) {
-        List<Integer> path = new ArrayList<>();
-        for (int i = 0; i < steps; i++) {
-            int before = p.position;
-            p.popStepIfPossible();
-            int after = p.position;
-            if (after == before) break;
-            path.add(after);
+        @Override
+        protected void onBatch(List<GameEvent> batch) {
+            pending.addAll(batch);
+            if (!timer.isRunning()) showUntilMove();
         }
 
-        if (path.isEmpty()) {
-            endTurnAfterMove(p);
-            return;
+        private void tick() {
+            if (!pending.isEmpty()) show(pending.poll()); // a move
+            showUntilMove();
         }
 
-        SoundPlayer.playWavSafe("yaaah.wav");
-        animatePathRepaintOnly(p, path, () -> endTurnAfterMove(p));
-    }
+        private void showUntilMove() {
+            while (!pending.isEmpty() && !isMove(pending.peek())) show(pending.poll());
+            if (pending.isEmpty()) timer.stop();
+            else if (!timer.isRunning()) timer.start();
+        }
 
-    private void animatePathPush(Player p, List<Integer> path, Runnable onDone) {
-        animating = true;
-        rollBtn.setEnabled(false);
+        private boolean isMove(GameEvent e) {
+            return e.type == GameEvent.Type.STEP || e.type == GameEvent.Type.JUMP;
+        }
 
-        final int[] idx = {0};
-        Timer timer = new Timer(250, null);
-        timer.addActionListener(e -> {
-            int pos = path.get(idx[0]);
-            p.pushStep(pos);
-
-            refreshBoardOccupants(getAllPlayers());
-            if (checkWinnerAndStopIfNeeded(p, timer)) return;
-
-            idx[0]++;
-            if (idx[0] >= path.size()) {
-                timer.stop();
-                animating = false;
-                rollBtn.setEnabled(true);
-                onDone.run();
+        private void show(GameEvent e) {
+            switch (e.type) {
+                case TURN:
+                    if (!gameRunning) return;
+                    if (e.turn > 1 && eventBox.isSelected() && (e.turn - 1) % EVENT_EVERY == 0) boardEvent();
+                    currentSeat = e.player;
+                    refreshBoardOccupants();
+                    animating = false;
+                    rollBtn.setEnabled(true);
+                    if (soak != null) SwingUtilities.invokeLater(() -> rollBtn.doClick(0));
+                    break;
+                case ROLL:
+                    sound = e.green ? "yeay.wav" : "yaaah.wav";
+                    break;
+                case STEP:
+                case JUMP:
+                    if (sound != null) SoundPlayer.playWavSafe(sound);
+                    sound = null;
+                    shown[e.player] = e.to;
+                    refreshBoardOccupants();
+                    break;
+                case WIN:
+                    gameOver(e.player);
+                    break;
+                default:
             }
-        });
-        timer.start();
+        }
     }
 
-    private void animatePathRepaintOnly(Player p, List<Integer> path, Runnable onDone) {
-        animating = true;
+    private void gameOver(int winner) {
+        animating = false;
+        gameRunning = false;
         rollBtn.setEnabled(false);
 
-        final int[] idx = {0};
-        Timer timer = new Timer(250, null);
-        timer.addActionListener(e -> {
-            int pos = path.get(idx[0]);
-            p.position = pos;
-
-            refreshBoardOccupants(getAllPlayers());
-            if (checkWinnerAndStopIfNeeded(p, timer)) return;
-
-            idx[0]++;
-            if (idx[0] >= path.size()) {
-                timer.stop();
-                // sync back with stack peek
-                p.position = p.steps.peek();
-                animating = false;
-                rollBtn.setEnabled(true);
-                onDone.run();
+        if (soak != null) {
+            soak.game();
+            if (soak.games() >= soakGames) {
+                soak.stop();
+                System.exit(0);
             }
-        });
-        timer.start();
+            SwingUtilities.invokeLater(this::onPlay); // next game, no dialog
+            return;
+        }
+        JOptionPane.showMessageDialog(frame,
+                "WINNER: " + players.get(winner).name + " 🎉",
+                "Game Selesai",
+                JOptionPane.INFORMATION_MESSAGE);
     }
 
-    private boolean checkWinnerAndStopIfNeeded(Player p, Timer timer) {
-        if (p.position >= 64) {
-            timer.stop();
-            animating = false;
-            gameRunning = false;
-
-            rollBtn.setEnabled(false);
+    /** The game log: a batch of events becomes one append, however many turns it covers. */
+    private final class LogView extends CoalescingSubscriber {
+        LogView() {
+            super(SwingUtilities::invokeLater, GameEventStream.BUFFER);
+        }
 
-            logInfo("🏆 WINNER: " + p.name + " mencapai node 64!");
-            JOptionPane.showMessageDialog(frame,
-                    "WINNER: " + p.name + " 🎉",
-                    "Game Selesai",
-                    JOptionPane.INFORMATION_MESSAGE);
-            return true;
+        @Override
+        protected void onBatch(List<GameEvent> batch) {
+            StringBuilder sb = new StringBuilder();
+            for (GameEvent e : batch) appendLogLine(sb, e);
+            if (sb.length() > 0) logInfo(sb.substring(0, sb.length() - 1));
         }
-        return false;
     }
 
-    private void endTurnAfterMove(Player p) {
-        if (!gameRunning) return;
-
-        boolean doubleTurn = (p.position % 5 == 0);
-        if (doubleTurn) {
-            logInfo("🔥 " + p.name + " landing kelipatan 5 (" + p.position + ") -> DOUBLE TURN!");
-            // push ke depan queue (main lagi)
-            turnQueue.addFirst(p);
+    /**
+     * Event mode: one link vanishes or a new one appears. BoardGraph repairs its distance / next-hop
+     * tree for just the affected nodes and the rules are recompiled from it (compileLive).
+     */
+    private void boardEvent() {
+        List<int[]> links = graph.randomLinks;
+        if (!links.isEmpty() && (links.size() >= 8 || eventRnd.nextBoolean())) {
+            int[] l = links.get(eventRnd.nextInt(links.size()));
+            graph.removeLink(l[0], l[1]);
+            logInfo("⚡ Event: link " + l[0] + " <-> " + l[1] + " hilang!");
         } else {
-            // normal ke belakang queue
-            turnQueue.addLast(p);
+            for (int tries = 0; tries < 100; tries++) {
+                int a = 1 + eventRnd.nextInt(graph.N), b = 1 + eventRnd.nextInt(graph.N);
+                if (Math.abs(a - b) <= 1) continue;
+                if (graph.addLink(a, b)) {
+                    logInfo("⚡ Event: link baru " + a + " <-> " + b + " muncul!");
+                    break;
+                }
+            }
         }
-
-        nextTurn();
+        rules = ruleConfig.compileLive(graph);
+        cancelHeatmaps();
+        updateHeatmap();
+        renderGraphInfo();
     }
 
-    private void nextTurn() {
-        if (!gameRunning) return;
+    /** Tokens where the board has shown them (shown[]), the player to move first in a cell. */
+    private void refreshBoardOccupants() {
+        Map<Integer, List<Player>> map = new HashMap<>();
+        for (int i = 1; i <= 64; i++) map.put(i, new ArrayList<>());
 
-        // poll from queue
-        currentPlayer = turnQueue.poll();
-        if (currentPlayer == null) return;
+        for (int k = 0; k < players.size(); k++) {
+            int seat = (currentSeat + k) % players.size();
+            int pos = Math.max(1, Math.min(64, shown[seat]));
+            map.get(pos).add(players.get(seat));
+        }
 
-        logInfo("\n➡️ Giliran: " + currentPlayer.name + " (pos: " + currentPlayer.position + ")");
-        refreshBoardOccupants(getAllPlayers());
+        for (int i = 1; i <= 64; i++) {
+            cells[i].setOccupants(map.get(i));
+        }
     }
 
-    private List<Player> getAllPlayers() {
-        List<Player> all = new ArrayList<>();
-        if (currentPlayer != null) all.add(currentPlayer);
-        if (turnQueue != null) all.addAll(turnQueue);
-        return all;
+    private void updateHeatmap() {
+        if (!heatmapBox.isSelected() || graph == null) {
+            heatmaps.values().removeIf(run -> run.cancel(false)); // stops the runs still going, keeps the finished
+            for (int i = 1; i <= 64; i++) cells[i].setHeat(null, null, null);
+            return;
+        }
+        int k = (Integer) heatmapTurns.getValue();
+        // a run for another K is no longer wanted (spinner moved on); finished ones stay cached
+        heatmaps.entrySet().removeIf(e -> e.getKey() != k && e.getValue().cancel(false));
+        BoardGraph g = graph;
+        CompletableFuture<Heatmap> run = heatmaps.computeIfAbsent(k, kk -> Heatmap.compute(g, rules, kk, Heatmap.SAMPLES));
+        run.whenComplete((h, ex) -> SwingUtilities.invokeLater(() -> {
+            if (ex != null) {
+                heatmaps.remove(k, run); // not cached, the next update tries again
+                if (!(ex instanceof CancellationException) && graph == g) logInfo("Peta peluang gagal dihitung: " + ex);
+                return;
+            }
+            if (graph != g || !heatmapBox.isSelected() || (Integer) heatmapTurns.getValue() != k) return;
+            if (h.fingerprint != g.fingerprint()) return; // links changed (event mode)
+            showHeatmap(h);
+        }));
     }
 
-    private void refreshBoardOccupants(List<Player> allPlayers) {
-        Map<Integer, List<Player>> map = new HashMap<>();
-        for (int i = 1; i <= 64; i++) map.put(i, new ArrayList<>());
-
-        for (Player p : allPlayers) {
-            int pos = Math.max(1, Math.min(64, p.position));
-            map.get(pos).add(p);
-        }
+    /** Drops every cached heatmap and stops the runs still going. */
+    private void cancelHeatmaps() {
+        for (CompletableFuture<Heatmap> run : heatmaps.values()) run.cancel(false);
+        heatmaps.clear();
+    }
 
+    private void showHeatmap(Heatmap h) {
         for (int i = 1; i <= 64; i++) {
-            cells[i].setOccupants(map.get(i));
+            double p = h.reachWithinK[i];
+            String text = Math.round(p * 100) + "%";
+            String tip = String.format("Peluang sampai 64 dalam %d lemparan: %.1f%%, perkiraan sisa %.1f lemparan",
+                    h.k, p * 100, h.expectedRolls[i]);
+            cells[i].setHeat(heatColor(p), text, tip);
         }
     }
 
+    /** Pale red (0) -> yellow -> pale green (1), in 5% steps so UiCache keeps at most 21 colors. */
+    private static Color heatColor(double p) {
+        double q = Math.round(p * 20) / 20.0;
+        int r = (int) (255 - Math.max(0, q - 0.5) * 2 * 90);
+        int g = (int) (165 + Math.min(q, 0.5) * 2 * 90);
+        return UiCache.color(r, g, 165);
+    }
+
     private void renderGraphInfo() {
         StringBuilder sb = new StringBuilder();
         sb.append("Default edges: i <-> i+1 (1..64)\n");
-        sb.append("Random Links (5 buah):\n");
+        sb.append("Random Links (").append(graph.randomLinks.size()).append(" buah):\n");
         for (int[] link : graph.randomLinks) {
             sb.append(" - ").append(link[0]).append(" <-> ").append(link[1]).append("\n");
         }
         sb.append("\nAdjacency Matrix: graph.adjMatrix (65x65)\n");
         sb.append("Adjacency List: graph.adjList\n");
+        sb.append(String.format("\nJarak terpendek 1 -> 64: %d langkah%n", graph.distanceToTarget(1)));
+        if (analysis.fingerprint == graph.fingerprint()) {
+            sb.append(String.format("Perkiraan panjang game (1 pemain): %.1f giliran%n", analysis.expectedTurns));
+        }
         graphArea.setText(sb.toString());
     }
 
+    private void appendLogLine(StringBuilder sb, GameEvent e) {
+        if (e.player < 0 || e.player >= players.size()) return;
+        String name = players.get(e.player).name;
+        switch (e.type) {
+            case TURN:
+                sb.append("\n➡️ Giliran: ").append(name).append(" (pos: ").append(e.from).append(")\n");
+                break;
+            case ROLL:
+                String colorText = e.green ? "HIJAU (maju)" : "MERAH (mundur)";
+                sb.append("🎲 ").append(name).append(" roll: ").append(e.value).append(" [").append(colorText).append("]\n");
+                if (e.primePath) {
+                    sb.append("✨ Start ").append(e.from).append(" prima -> shortest path aktif (menuju 64).\n");
+                }
+                break;
+            case DOUBLE_TURN:
+                sb.append("🔥 ").append(name).append(" landing kelipatan ").append(rules.config.doubleTurnModulus).append(" (").append(e.to).append(") -> DOUBLE TURN!\n");
+                break;
+            case WIN:
+                sb.append("🏆 WINNER: ").append(name).append(" mencapai node 64!\n");
+                sb.append("Hitung giliran (us): ").append(planMicros.summary()).append('\n');
+                sb.append("Latensi klik -> giliran selesai (us): ").append(turnLatencyMicros.summary()).append('\n');
+                sb.append("Event: ").append(metrics).append('\n');
+                break;
+            default: // STEP / JUMP are not logged
+        }
+    }
+
     private void logInfo(String msg) {
         infoArea.append(msg + "\n");
         infoArea.setCaretPosition(infoArea.getDocument().getLength());
@@ -0,0 +1,51 @@
+import java.util.List;
+
+/** Turns the moves on a GameEventStream into SpectatorRing deltas (runs on the delivery thread). */
+public class SpectatorBroadcaster extends CoalescingSubscriber {
+
+    private final SpectatorRing ring;
+    private long corrections;
+
+    public SpectatorBroadcaster(SpectatorRing ring) {
+        super(Runnable::run, GameEventStream.BUFFER);
+        this.ring = ring;
+    }
+
+    @Override
+    protected void onBatch(List<GameEvent> batch) {
+        for (GameEvent e : batch) {
+            switch (e.type) {
+                case TURN:
+                    if (e.turn == 1) ring.newGame();
+                    // TURN carries the seat's real position; the deltas should already agree
+                    if (ring.correct(e.player, e.from)) {
+                        corrections++;
+                        System.err.println("spectator ring: P" + (e.player + 1) + " corrected to " + e.from
+                                + ", keyframe forced (" + corrections + " so far)");
+                    }
+                    break;
+                case STEP:
+                case JUMP:
+                    int flags = (e.to < e.from ? SpectatorRing.FLAG_BACK : 0)
+                            | (e.type == GameEvent.Type.JUMP ? SpectatorRing.FLAG_JUMP : 0);
+                    ring.publish(e.player, e.from, e.to, flags);
+                    break;
+                case WIN:
+                    ring.publish(e.player, e.to, e.to, SpectatorRing.FLAG_WIN);
+                    break;
+                default:
+            }
+        }
+    }
+
+    /** onBatch threw (the publisher then drops us); say so instead of letting spectators freeze silently. */
+    @Override
+    public void onError(Throwable t) {
+        System.err.println("spectator ring stopped: " + t);
+        super.onError(t);
+    }
+
+    public long corrections() {
+        return corrections;
+    }
+}
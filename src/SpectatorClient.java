@@ -0,0 +1,64 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Console spectator: follows a ring written by a running game.
+ *
+ * Usage: --spectate ringFile [--poll-ms 50]
+ */
+public class SpectatorClient {
+
+    public static final String USAGE = "usage: --spectate ringFile [--poll-ms 50]";
+
+    public static int run(String[] args) {
+        if (args.length == 0) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        long pollMs = 50;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                String a = args[i];
+                if (i + 1 >= args.length) throw new IllegalArgumentException("missing value for " + a);
+                String v = args[++i];
+                switch (a) {
+                    case "--poll-ms": pollMs = Long.parseLong(v); break;
+                    default: throw new IllegalArgumentException("unknown option " + a);
+                }
+            }
+            if (pollMs < 1) throw new IllegalArgumentException("poll-ms must be >= 1");
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        try (SpectatorReader reader = SpectatorRing.openReader(Path.of(args[0]))) {
+            SpectatorReader.Listener printer = new SpectatorReader.Listener() {
+                @Override
+                public void onDelta(long seq, int player, int from, int to, int flags) {
+                    if ((flags & SpectatorRing.FLAG_NEW_GAME) != 0) System.out.println("-- new game --");
+                    else if ((flags & SpectatorRing.FLAG_WIN) != 0) System.out.println("P" + (player + 1) + " wins at " + to);
+                    else System.out.println("P" + (player + 1) + ": " + from + " -> " + to
+                                + ((flags & SpectatorRing.FLAG_JUMP) != 0 ? " (link)" : ""));
+                }
+
+                @Override
+                public void onResync(long seq, int[] positions) {
+                    System.out.println("-- resync @" + seq + " positions " + Arrays.toString(positions));
+                }
+            };
+            while (true) {
+                reader.poll(printer);
+                Thread.sleep(pollMs);
+            }
+        } catch (IOException e) {
+            System.err.println("spectate failed: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/** One spectator's cursor into a SpectatorRing. Not shared between threads. */
+public class SpectatorReader implements Closeable {
+
+    public interface Listener {
+        void onDelta(long seq, int player, int from, int to, int flags);
+
+        /** Fell behind (or just attached): positions were reloaded from the keyframe. */
+        void onResync(long seq, int[] positions);
+    }
+
+    private final SpectatorRing ring;
+    private final int[] positions = new int[SpectatorRing.MAX_PLAYERS];
+    private long nextSeq = -1; // -1 = needs a keyframe
+    private long resyncs;
+
+    SpectatorReader(SpectatorRing ring) {
+        this.ring = ring;
+    }
+
+    public int[] positions() {
+        return positions.clone();
+    }
+
+    public long resyncCount() {
+        return resyncs;
+    }
+
+    /** Delivers everything published since the last poll; returns the number of deltas applied. */
+    public int poll(Listener listener) {
+        long ws = (long) SpectatorRing.LONG.getAcquire(ring.buf, SpectatorRing.OFF_WRITE_SEQ);
+        if (nextSeq < 0 || ws - nextSeq + 1 > ring.capacity) {
+            resync(listener);
+            ws = (long) SpectatorRing.LONG.getAcquire(ring.buf, SpectatorRing.OFF_WRITE_SEQ);
+        }
+
+        int applied = 0;
+        while (nextSeq <= ws) {
+            long slot = (long) SpectatorRing.LONG.getAcquire(ring.buf, ring.slotOffset(nextSeq));
+            if ((slot >>> 32) != (nextSeq & 0xffffffffL)) { // lapped while reading
+                resync(listener);
+                ws = (long) SpectatorRing.LONG.getAcquire(ring.buf, SpectatorRing.OFF_WRITE_SEQ);
+                continue;
+            }
+            int player = (int) (slot & 0xf);
+            int from = (int) ((slot >>> 4) & 0xfff);
+            int to = (int) ((slot >>> 16) & 0xfff);
+            int flags = (int) ((slot >>> 28) & 0xf);
+            if ((flags & SpectatorRing.FLAG_NEW_GAME) != 0) Arrays.fill(positions, 1);
+            else positions[player] = to;
+            listener.onDelta(nextSeq, player, from, to, flags);
+            nextSeq++;
+            applied++;
+        }
+        return applied;
+    }
+
+    private void resync(Listener listener) {
+        long seq;
+        while (true) {
+            long lock = (long) SpectatorRing.LONG.getAcquire(ring.buf, SpectatorRing.OFF_KF_LOCK);
+            if ((lock & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            seq = (long) SpectatorRing.LONG.get(ring.buf, SpectatorRing.OFF_KF_SEQ);
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = (int) SpectatorRing.INT.get(ring.buf, SpectatorRing.OFF_KF_POS + 4 * i);
+            }
+            VarHandle.loadLoadFence();
+            if ((long) SpectatorRing.LONG.getAcquire(ring.buf, SpectatorRing.OFF_KF_LOCK) == lock) break;
+        }
+        nextSeq = seq + 1;
+        resyncs++;
+        listener.onResync(seq, positions.clone());
+    }
+
+    @Override
+    public void close() throws IOException {
+        ring.close();
+    }
+}
@@ -0,0 +1,145 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Single-writer / many-reader ring of game steps in a memory-mapped file (e.g. under /dev/shm), so any
+ * number of spectator processes on the same box can follow one game without asking it for state.
+ *
+ * Layout (native byte order):
+ *   0  int  magic        4  int  capacity (slots, power of two)
+ *   8  long writeSeq     last published delta
+ *  16  long kfLock       keyframe seqlock, odd while the writer is inside
+ *  24  long kfSeq        delta seq the keyframe is current at
+ *  32  int[6] keyframe positions
+ *  64  long[capacity] slots: seq (high 32 bits) | flags 4 | to 12 | from 12 | player 4
+ *
+ * A reader that falls more than capacity behind (or sees a slot overwritten under it) resyncs from
+ * the keyframe, which the writer refreshes every capacity / 4 deltas.
+ */
+public class SpectatorRing implements Closeable {
+
+    public static final int MAGIC = 0x4c414452; // "LADR"
+    public static final int MAX_PLAYERS = 6;
+    public static final int MAX_NODE = 4095;
+
+    public static final int FLAG_BACK = 1;
+    public static final int FLAG_JUMP = 2;
+    public static final int FLAG_WIN = 4;
+    public static final int FLAG_NEW_GAME = 8;
+
+    static final int OFF_MAGIC = 0, OFF_CAPACITY = 4, OFF_WRITE_SEQ = 8, OFF_KF_LOCK = 16, OFF_KF_SEQ = 24,
+            OFF_KF_POS = 32, OFF_SLOTS = 64;
+
+    static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    final FileChannel channel;
+    final MappedByteBuffer buf;
+    final int capacity;
+
+    // writer state
+    private long writeSeq;
+    private final int[] positions = new int[MAX_PLAYERS];
+
+    private SpectatorRing(FileChannel channel, MappedByteBuffer buf, int capacity) {
+        this.channel = channel;
+        this.buf = buf;
+        this.capacity = capacity;
+    }
+
+    /** Writer side: creates (or truncates) the ring file. */
+    public static SpectatorRing create(Path file, int capacity) throws IOException {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("capacity must be a power of two");
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, OFF_SLOTS + 8L * capacity);
+        SpectatorRing ring = new SpectatorRing(ch, buf, capacity);
+        INT.set(buf, OFF_CAPACITY, capacity);
+        ring.newGame();
+        INT.setRelease(buf, OFF_MAGIC, MAGIC);
+        return ring;
+    }
+
+    /** Reader side: read-only, so a spectator cannot disturb the writer and needs only read permission. */
+    public static SpectatorReader openReader(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (ch.size() < OFF_SLOTS) throw new IOException("not a spectator ring: " + file);
+            MappedByteBuffer head = ch.map(FileChannel.MapMode.READ_ONLY, 0, OFF_SLOTS);
+            if ((int) INT.getAcquire(head, OFF_MAGIC) != MAGIC) throw new IOException("not a spectator ring: " + file);
+            int capacity = (int) INT.get(head, OFF_CAPACITY);
+            if (capacity <= 0 || Integer.bitCount(capacity) != 1 || ch.size() < OFF_SLOTS + 8L * capacity) {
+                throw new IOException("damaged spectator ring: " + file);
+            }
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, OFF_SLOTS + 8L * capacity);
+            return new SpectatorReader(new SpectatorRing(ch, buf, capacity));
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    /** Everyone back on node 1; spectators get a FLAG_NEW_GAME delta. */
+    public void newGame() {
+        Arrays.fill(positions, 1);
+        publish(0, 1, 1, FLAG_NEW_GAME);
+        writeKeyframe();
+    }
+
+    /** Throws rather than drop the delta: a move that never reaches the ring leaves spectators wrong for good. */
+    public void publish(int player, int from, int to, int flags) {
+        if (player < 0 || player >= MAX_PLAYERS) throw new IllegalArgumentException("player out of range: " + player);
+        if (from < 0 || from > MAX_NODE || to < 0 || to > MAX_NODE) {
+            throw new IllegalArgumentException("node out of range: " + from + " -> " + to);
+        }
+        if ((flags & FLAG_NEW_GAME) == 0) positions[player] = to;
+
+        long seq = writeSeq + 1;
+        long slot = ((seq & 0xffffffffL) << 32)
+                | ((long) (flags & 0xf) << 28) | ((long) to << 16) | ((long) from << 4) | player;
+        LONG.setRelease(buf, slotOffset(seq), slot);
+        LONG.setRelease(buf, OFF_WRITE_SEQ, seq);
+        writeSeq = seq;
+
+        if (seq % Math.max(1, capacity / 4) == 0) writeKeyframe();
+    }
+
+    /**
+     * Checks the ring against a position the game vouches for (a TURN event). On a mismatch the fix goes
+     * out as an ordinary delta and the keyframe is rewritten at once; returns whether anything changed.
+     */
+    public boolean correct(int player, int position) {
+        if (player < 0 || player >= MAX_PLAYERS) throw new IllegalArgumentException("player out of range: " + player);
+        int was = positions[player];
+        if (was == position) return false;
+        publish(player, was, position, position < was ? FLAG_BACK : 0);
+        writeKeyframe();
+        return true;
+    }
+
+    private void writeKeyframe() {
+        long lock = (long) LONG.get(buf, OFF_KF_LOCK);
+        LONG.setRelease(buf, OFF_KF_LOCK, lock + 1);
+        VarHandle.storeStoreFence();
+        LONG.set(buf, OFF_KF_SEQ, writeSeq);
+        for (int i = 0; i < MAX_PLAYERS; i++) INT.set(buf, OFF_KF_POS + 4 * i, positions[i]);
+        LONG.setRelease(buf, OFF_KF_LOCK, lock + 2);
+    }
+
+    int slotOffset(long seq) {
+        return OFF_SLOTS + 8 * (int) (seq & (capacity - 1));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,165 @@
+package org.example;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Player tokens and link end-markers, rendered (antialiased) once into one atlas image per sprite
+ * size and device scale, then drawn as plain blits: drawImage of a SLOT x SLOT sub-rectangle that
+ * the Graphics' transform maps back onto the atlas' own pixels, so no resampling. Boards used to
+ * fill and stroke every token's oval on every paint, which adds up with many tokens on screen or a
+ * turbo animation. The scale comes from the Graphics (2.0 on a HiDPI screen, more when zoomed), in
+ * quarter steps up to MAX_SCALE, so tokens stay as sharp as the old vector ovals.
+ *
+ * Layout: row 0 normal tokens, row 1 highlighted tokens (amber ring), one column per color in
+ * order of first use; row 2 the four end-markers. The image doubles in width when a new color no
+ * longer fits. EDT only, like UiCache.
+ */
+public final class SpriteAtlas {
+
+    public static final int LADDER_FOOT = 0, LADDER_TOP = 1, SNAKE_TAIL = 2, SNAKE_HEAD = 3;
+
+    static final int MIN_SIZE = 4, MAX_SIZE = 96;
+    static final double MAX_SCALE = 4;
+    private static final int MARGIN = 2; // room for the highlight ring around a token
+    private static final int ROWS = 3;
+
+    private static final Map<Integer, SpriteAtlas> BY_SIZE = new HashMap<>(); // quarter scale << 8 | size
+
+    public final int size;  // token diameter in user-space pixels
+    public final int slot;  // size + MARGIN on both sides
+    private final int pixelSlot; // slot in atlas (device) pixels
+    private int[] rgbs = new int[8]; // column -> color, linear scan: a handful of colors, no boxing
+    private int colorCount;
+    private BufferedImage image;
+
+    private SpriteAtlas(int size, double scale) {
+        this.size = size;
+        this.slot = size + 2 * MARGIN;
+        this.pixelSlot = (int) Math.round(slot * scale);
+        image = newImage(rgbs.length);
+        renderMarkers();
+    }
+
+    /** The atlas for tokens of this diameter (clamped to MIN_SIZE..MAX_SIZE) as drawn through g. */
+    public static SpriteAtlas get(Graphics g, int size) {
+        double scale = 1;
+        if (g instanceof Graphics2D) {
+            AffineTransform t = ((Graphics2D) g).getTransform();
+            scale = Math.hypot(t.getScaleX(), t.getShearY()); // also right under a rotation
+        }
+        return get(size, scale);
+    }
+
+    /** Same, for a known device scale (1 = one atlas pixel per user-space pixel). */
+    public static SpriteAtlas get(int size, double scale) {
+        int s = Math.max(MIN_SIZE, Math.min(MAX_SIZE, size));
+        int quarters = (int) Math.max(4, Math.min(MAX_SCALE * 4, Math.round(scale * 4)));
+        return BY_SIZE.computeIfAbsent(quarters << 8 | s, k -> new SpriteAtlas(s, quarters / 4.0));
+    }
+
+    /** Token with its top-left corner at x, y, the same box as fillOval(x, y, size, size). */
+    public void drawToken(Graphics g, Color color, boolean highlighted, int x, int y) {
+        blit(g, column(color), highlighted ? 1 : 0, x - MARGIN, y - MARGIN);
+    }
+
+    /** End-marker (LADDER_FOOT .. SNAKE_HEAD) centered on cx, cy. */
+    public void drawMarker(Graphics g, int marker, int cx, int cy) {
+        blit(g, marker, 2, cx - slot / 2, cy - slot / 2);
+    }
+
+    private void blit(Graphics g, int col, int row, int x, int y) {
+        int sx = col * pixelSlot, sy = row * pixelSlot;
+        g.drawImage(image, x, y, x + slot, y + slot, sx, sy, sx + pixelSlot, sy + pixelSlot, null);
+    }
+
+    private int column(Color color) {
+        int rgb = color.getRGB();
+        for (int i = 0; i < colorCount; i++) if (rgbs[i] == rgb) return i;
+        if (colorCount == rgbs.length) {
+            rgbs = Arrays.copyOf(rgbs, rgbs.length * 2);
+            BufferedImage bigger = newImage(rgbs.length);
+            Graphics2D g = bigger.createGraphics();
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+            image = bigger;
+        }
+        rgbs[colorCount] = rgb;
+        renderToken(color, colorCount);
+        return colorCount++;
+    }
+
+    private BufferedImage newImage(int columns) {
+        return new BufferedImage(columns * pixelSlot, ROWS * pixelSlot, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    private Graphics2D graphics() {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        g.scale(pixelSlot / (double) slot, pixelSlot / (double) slot); // sprites are laid out in user-space slots
+        return g;
+    }
+
+    private void renderToken(Color color, int col) {
+        float stroke = Math.max(1f, size / 10f);
+        Graphics2D g = graphics();
+        try {
+            for (int row = 0; row < 2; row++) {
+                float x = col * slot + MARGIN, y = row * slot + MARGIN;
+                if (row == 1) {
+                    g.setColor(UiCache.color(255, 193, 7));
+                    g.setStroke(new BasicStroke(MARGIN));
+                    g.draw(new Ellipse2D.Float(x - MARGIN / 2f, y - MARGIN / 2f, size + MARGIN, size + MARGIN));
+                }
+                g.setColor(color);
+                g.fill(new Ellipse2D.Float(x, y, size, size));
+                g.setColor(color.darker());
+                g.setStroke(new BasicStroke(stroke));
+                g.draw(new Ellipse2D.Float(x + stroke / 2, y + stroke / 2, size - stroke, size - stroke));
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /** Ladder foot: green ring. Ladder top: green arrow. Snake tail: red dot. Snake head: red disc with eyes. */
+    private void renderMarkers() {
+        Color ladder = UiCache.color(67, 160, 71), snake = UiCache.color(229, 57, 53);
+        float y = 2 * slot + MARGIN, s = size;
+        Graphics2D g = graphics();
+        try {
+            float x = LADDER_FOOT * slot + MARGIN;
+            g.setColor(ladder);
+            g.setStroke(new BasicStroke(Math.max(1.5f, s / 6f)));
+            g.draw(new Ellipse2D.Float(x + s / 6, y + s / 6, s * 2 / 3, s * 2 / 3));
+
+            x = LADDER_TOP * slot + MARGIN;
+            Path2D.Float arrow = new Path2D.Float();
+            arrow.moveTo(x + s / 2, y);
+            arrow.lineTo(x + s, y + s * 0.8f);
+            arrow.lineTo(x, y + s * 0.8f);
+            arrow.closePath();
+            g.fill(arrow);
+
+            x = SNAKE_TAIL * slot + MARGIN;
+            g.setColor(snake);
+            g.fill(new Ellipse2D.Float(x + s / 3, y + s / 3, s / 3, s / 3));
+
+            x = SNAKE_HEAD * slot + MARGIN;
+            g.fill(new Ellipse2D.Float(x, y, s, s));
+            g.setColor(Color.WHITE);
+            float eye = Math.max(1.5f, s / 5);
+            g.fill(new Ellipse2D.Float(x + s * 0.28f - eye / 2, y + s * 0.38f - eye / 2, eye, eye));
+            g.fill(new Ellipse2D.Float(x + s * 0.72f - eye / 2, y + s * 0.38f - eye / 2, eye, eye));
+        } finally {
+            g.dispose();
+        }
+    }
+}
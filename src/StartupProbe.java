@@ -0,0 +1,64 @@
+package org.example;
+
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Time-to-first-frame measurement, off unless asked for:
+ * -Dladder.startupTiming=true       print ms from JVM start until the first frame has been painted
+ * -Dladder.exitAfterFirstFrame=true exit right after that (training run for the AppCDS archive)
+ * Without a display, main() below takes the offscreen variant of the same number.
+ */
+public final class StartupProbe {
+
+    private StartupProbe() {
+    }
+
+    public static void watch(Window window) {
+        boolean timing = Boolean.getBoolean("ladder.startupTiming");
+        boolean exit = Boolean.getBoolean("ladder.exitAfterFirstFrame");
+        if (!timing && !exit) return;
+
+        window.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                // queued behind the first paint of the frame
+                SwingUtilities.invokeLater(() -> {
+                    if (timing) {
+                        long ms = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+                        System.out.println("first frame: " + ms + " ms after JVM start");
+                    }
+                    if (exit) System.exit(0);
+                });
+            }
+        });
+    }
+
+    /**
+     * Offscreen stand-in for boxes without a display: builds the board with its links, as the first
+     * frame shows it, and paints it into an image. Window and toolkit startup are not in it, so it
+     * is a lower bound for the real first frame, but the class loading AppCDS saves mostly is.
+     */
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true"); // before any AWT class initializes
+        SwingUtilities.invokeAndWait(() -> {
+            GameBoard board = new GameBoard();
+            board.setRandomLinks(List.of(new RandomLink(3, 22, true), new RandomLink(9, 31, true),
+                    new RandomLink(27, 46, true), new RandomLink(38, 15, false), new RandomLink(62, 41, false)));
+            board.setSize(board.getPreferredSize());
+            BufferedImage img = new BufferedImage(board.getWidth(), board.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = img.createGraphics();
+            board.paint(g);
+            g.dispose();
+        });
+        long ms = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.println("first offscreen frame: " + ms + " ms after JVM start");
+        System.exit(0);
+    }
+}
@@ -0,0 +1,66 @@
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Queries a ResultStore written by --batch --store.
+ *
+ * Usage: --stats dir [--board-seed S | --board FINGERPRINT] [--days D] [--percentile P]
+ */
+public class StatsRunner {
+
+    public static final String USAGE =
+            "usage: --stats dir [--board-seed S | --board FINGERPRINT] [--days D] [--percentile P]";
+
+    public static int run(String[] args) {
+        if (args.length == 0) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        Path dir = Path.of(args[0]);
+        Long fingerprint = null;
+        double days = 7;
+        double percentile = 95;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                String a = args[i];
+                if (i + 1 >= args.length) throw new IllegalArgumentException("missing value for " + a);
+                String v = args[++i];
+                switch (a) {
+                    case "--board": fingerprint = Long.parseUnsignedLong(v, 16); break;
+                    case "--board-seed": fingerprint = new BoardGraph(new Random(Long.parseLong(v))).fingerprint(); break;
+                    case "--days": days = Double.parseDouble(v); break;
+                    case "--percentile": percentile = Double.parseDouble(v); break;
+                    default: throw new IllegalArgumentException("unknown option " + a);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        try (ResultStore store = ResultStore.openReadOnly(dir)) {
+            long now = System.currentTimeMillis();
+            long since = now - (long) (days * 24 * 3600 * 1000);
+            System.out.println("games: " + store.size());
+            System.out.println("p" + percentile + " game length (last " + days + " days): "
+                    + store.turnsPercentile(since, now + 1, percentile) + " turns");
+            if (fingerprint != null) {
+                double[] rate = store.winRateBySeat(fingerprint);
+                System.out.println("win rate by seat for board " + Long.toHexString(fingerprint) + ":");
+                for (int s = 0; s < rate.length; s++) {
+                    if (!Double.isNaN(rate[s])) System.out.printf("  seat %d: %.3f%n", s, rate[s]);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            System.err.println("no result store in " + dir + " (missing " + e.getFile() + ")");
+            return 1;
+        } catch (IOException e) {
+            System.err.println("read failed: " + e.getMessage());
+            return 1;
+        }
+        return 0;
+    }
+}
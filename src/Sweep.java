@@ -0,0 +1,274 @@
+import org.example.LogHistogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Grid search over green odds x link counts x player counts x board sizes.
+ *
+ * Every grid cell plays `games` HeadlessGames spread over `boards` boards. Boards depend only on
+ * (seed, size, links, board#), so cells that differ only in green odds or players are played on the
+ * same boards. Finished cells are written to a content-addressed cache: the file name is the SHA-256
+ * of everything that affects the result, so a re-run (or a wider grid) only plays new cells.
+ * Work is split per (cell, board) on a ForkJoinPool. Board analyses (prime routes) are shared across
+ * cells through a BoardAnalysisCache kept next to the cell cache.
+ *
+ * Usage: --sweep [--green 0.5,0.6,0.7,0.8] [--links 0,5,10] [--players 2,4] [--sizes 64]
+ *                [--games 2000] [--boards 20] [--seed 1] [--rules spec] [--cache dir] [--threads T]
+ */
+public class Sweep {
+
+    public static final String USAGE = "usage: --sweep [--green 0.5,0.6,0.7,0.8] [--links 0,5,10] [--players 2,4]"
+            + " [--sizes 64] [--games 2000] [--boards 20] [--seed 1] [--rules spec] [--cache dir] [--threads T]";
+
+    /** Bump when the game or the statistics change, so old cache entries stop matching. */
+    private static final String CACHE_VERSION = "sweep-5"; // 2: prime routes from BoardAnalysis, 3: LogHistogram, 4: DiceSource, 5: lowest-neighbour routes
+    /** BoardGraph keeps an (n+1)^2 adjacency matrix, 16 MB per board at this size. */
+    public static final int MAX_SIZE = 2048;
+
+    public static class Cell {
+        public final int size, links, players;
+        public final RuleConfig rules;
+
+        // results
+        public long games, timeouts, turnsSum, seat0Wins, backwardSum, doublesSum;
+        public LogHistogram turns = new LogHistogram(HeadlessGame.MAX_TURNS, 8); // game length
+        public boolean cached;
+
+        Cell(int size, int links, int players, RuleConfig rules) {
+            this.size = size;
+            this.links = links;
+            this.players = players;
+            this.rules = rules;
+        }
+
+        void add(GameResult r) {
+            games++;
+            if (r.winner < 0) timeouts++;
+            if (r.winner == 0) seat0Wins++;
+            turnsSum += r.turns;
+            backwardSum += r.backwardMoves;
+            doublesSum += r.doubleTurns;
+            turns.record(r.turns);
+        }
+
+        void merge(Cell o) {
+            games += o.games;
+            timeouts += o.timeouts;
+            turnsSum += o.turnsSum;
+            seat0Wins += o.seat0Wins;
+            backwardSum += o.backwardSum;
+            doublesSum += o.doublesSum;
+            turns.add(o.turns);
+        }
+
+        Cell emptyCopy() {
+            return new Cell(size, links, players, rules);
+        }
+    }
+
+    private final int games, boards;
+    private final long seed;
+    private final Path cacheDir;
+    private final ForkJoinPool pool;
+    private final BoardAnalysisCache analyses;
+
+    public Sweep(int games, int boards, long seed, Path cacheDir, ForkJoinPool pool) {
+        if (games < 1 || boards < 1) throw new IllegalArgumentException("games and boards must be >= 1");
+        this.games = games;
+        this.boards = Math.min(boards, games);
+        this.seed = seed;
+        this.cacheDir = cacheDir;
+        this.pool = pool;
+        this.analyses = new BoardAnalysisCache(1024, cacheDir == null ? null : cacheDir.resolve("boards"));
+    }
+
+    public BoardAnalysisCache analyses() {
+        return analyses;
+    }
+
+    /** Fills in every cell, from the cache where possible. */
+    public void run(List<Cell> cells) throws IOException {
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (Cell cell : cells) {
+            Path file = cacheFile(cell);
+            if (cacheDir != null && Files.exists(file) && read(cell, file)) {
+                cell.cached = true;
+                continue;
+            }
+            CompletableFuture<?>[] parts = new CompletableFuture<?>[boards];
+            for (int b = 0; b < boards; b++) {
+                int board = b;
+                parts[b] = CompletableFuture.supplyAsync(() -> playBoard(cell, board), pool);
+            }
+            pending.add(CompletableFuture.allOf(parts).thenRun(() -> {
+                for (CompletableFuture<?> f : parts) cell.merge((Cell) f.join());
+                if (cacheDir != null) {
+                    try {
+                        write(cell, file);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    private Cell playBoard(Cell cell, int board) {
+        Cell part = cell.emptyCopy();
+        long boardSeed = new SplittableRandom(seed ^ ((long) cell.size << 40) ^ ((long) cell.links << 20)).nextLong() + board;
+        BoardGraph graph = new BoardGraph(cell.size, cell.links, new Random(new SplittableRandom(boardSeed).nextLong()));
+        HeadlessGame game = new HeadlessGame(cell.rules.compile(analyses.get(graph)), cell.players);
+
+        // games / boards each, the first games % boards boards play one more
+        int count = games / boards + (board < games % boards ? 1 : 0);
+        SplittableRandom seeds = new SplittableRandom(boardSeed ^ ((long) cell.players << 56));
+        for (int i = 0; i < count; i++) {
+            long gameSeed = seeds.nextLong();
+            part.add(game.play(gameSeed));
+        }
+        return part;
+    }
+
+    private Path cacheFile(Cell cell) {
+        if (cacheDir == null) return null;
+        String key = CACHE_VERSION + "|size=" + cell.size + "|links=" + cell.links + "|players=" + cell.players
+                + "|rules=" + cell.rules + "|games=" + games + "|boards=" + boards + "|seed=" + seed;
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : d) hex.append(String.format("%02x", b));
+            return cacheDir.resolve(hex.substring(0, 2)).resolve(hex.substring(2) + ".cell");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // cell file: one line of totals, then the game-length histogram (LogHistogram, base64)
+    private static void write(Cell cell, Path file) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append(cell.games).append(' ').append(cell.timeouts).append(' ').append(cell.turnsSum).append(' ')
+                .append(cell.seat0Wins).append(' ').append(cell.backwardSum).append(' ').append(cell.doublesSum).append('\n');
+        sb.append(cell.turns.toBase64()).append('\n');
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), "cell", ".tmp");
+        Files.writeString(tmp, sb);
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** False (cell untouched) if the file is unreadable, truncated or damaged: a miss, recomputed and overwritten. */
+    private static boolean read(Cell cell, Path file) {
+        Cell c = cell.emptyCopy();
+        try {
+            List<String> lines = Files.readAllLines(file);
+            if (lines.size() < 2) return false;
+            long[] totals = Arrays.stream(lines.get(0).split(" ")).mapToLong(Long::parseLong).toArray();
+            if (totals.length != 6 || Arrays.stream(totals).anyMatch(t -> t < 0)) return false;
+            c.games = totals[0];
+            c.timeouts = totals[1];
+            c.turnsSum = totals[2];
+            c.seat0Wins = totals[3];
+            c.backwardSum = totals[4];
+            c.doublesSum = totals[5];
+            c.turns = LogHistogram.fromBase64(lines.get(1));
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+        if (c.games < 1 || c.turns.count() != c.games) return false;
+        cell.merge(c);
+        return true;
+    }
+
+    public static int run(String[] args) {
+        double[] green = {0.5, 0.6, 0.7, 0.8};
+        int[] links = {0, 5, 10}, players = {2, 4}, sizes = {64};
+        int games = 2000, boards = 20, threadCount = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        RuleConfig base = RuleConfig.DEFAULT;
+        Path cache = Path.of(".sweep-cache");
+        List<Cell> cells = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String a = args[i];
+                if (i + 1 >= args.length) throw new IllegalArgumentException("missing value for " + a);
+                String v = args[++i];
+                switch (a) {
+                    case "--green": green = Arrays.stream(v.split(",")).mapToDouble(Double::parseDouble).toArray(); break;
+                    case "--links": links = ints(v); break;
+                    case "--players": players = ints(v); break;
+                    case "--sizes": sizes = ints(v); break;
+                    case "--games": games = Integer.parseInt(v); break;
+                    case "--boards": boards = Integer.parseInt(v); break;
+                    case "--seed": seed = Long.parseLong(v); break;
+                    case "--rules": base = RuleConfig.parse(v); break;
+                    case "--cache": cache = v.equals("none") ? null : Path.of(v); break;
+                    case "--threads": threadCount = Integer.parseInt(v); break;
+                    default: throw new IllegalArgumentException("unknown option " + a);
+                }
+            }
+            for (int p : players) if (p < 1 || p > 6) throw new IllegalArgumentException("players must be 1..6");
+            for (int s : sizes) if (s < 2 || s > MAX_SIZE) throw new IllegalArgumentException("size must be 2.." + MAX_SIZE);
+            if (threadCount < 1) throw new IllegalArgumentException("threads must be >= 1");
+            for (int size : sizes) {
+                for (int l : links) {
+                    for (double g : green) { // RuleConfig rejects green odds outside 0..1
+                        RuleConfig rules = new RuleConfig(g, base.doubleTurnModulus, base.primeShortestPath, base.exactFinish);
+                        for (int p : players) cells.add(new Cell(size, l, p, rules));
+                    }
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threadCount);
+        long start = System.nanoTime();
+        Sweep sweep;
+        try {
+            sweep = new Sweep(games, boards, seed, cache, pool);
+            sweep.run(cells);
+        } catch (IOException | CompletionException e) {
+            System.err.println("sweep failed: " + (e.getCause() != null ? e.getCause() : e).getMessage());
+            return 1;
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println(" size links green pl |  mean   p50   p90   p99 | seat1%  back/g  dbl/g  tmo");
+        int computed = 0;
+        for (Cell c : cells) {
+            if (!c.cached) computed++;
+            System.out.printf("%5d %5d %5.2f %2d | %5.1f %5d %5d %5d | %5.1f %7.1f %6.1f %4d%s%n",
+                    c.size, c.links, c.rules.greenOdds, c.players,
+                    (double) c.turnsSum / c.games, c.turns.percentile(50), c.turns.percentile(90), c.turns.percentile(99),
+                    100.0 * c.seat0Wins / c.games, (double) c.backwardSum / c.games, (double) c.doublesSum / c.games,
+                    c.timeouts, c.cached ? "" : " *");
+        }
+        System.out.printf("%d cells, %d computed (*), %d from cache, %.2f s%n",
+                cells.size(), computed, cells.size() - computed, seconds);
+        System.out.println("board analyses: " + sweep.analyses());
+        return 0;
+    }
+
+    private static int[] ints(String v) {
+        return Arrays.stream(v.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+    }
+}
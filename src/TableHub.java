@@ -0,0 +1,78 @@
+import org.example.BoardRenderer;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * What all tables of the multi-table window share, so one more table costs only its game state:
+ *  - one animation clock: a single Swing Timer moves every table's token one node per tick
+ *  - one board renderer: the 8x8 cells and numbers are cached tiles drawn by every table, each
+ *    table only adds its own links and tokens on top
+ *  - one turn-compute thread (every table's TurnPipeline submits to it)
+ *  - one audio mixer (TableMixer): every table's clips are summed into one output line
+ * Fonts and colors come from UiCache as everywhere else. EDT only, except the compute thread.
+ */
+public class TableHub {
+
+    static final int BASE_CELL = 64;
+
+    public final ExecutorService compute = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "table-compute");
+        t.setDaemon(true);
+        return t;
+    });
+    public final BoardRenderer board = new BoardRenderer(8, 8, BASE_CELL, 16);
+    public final TableMixer mixer = new TableMixer();
+
+    private final List<TableView> tables = new ArrayList<>();
+    private final Timer clock;
+
+    public TableHub(int stepMs) {
+        clock = new Timer(stepMs, e -> tick());
+    }
+
+    public void add(TableView table) {
+        tables.add(table);
+    }
+
+    public void remove(TableView table) {
+        tables.remove(table);
+        table.close();
+    }
+
+    public List<TableView> tables() {
+        return tables;
+    }
+
+    /** Cell size in pixels for every table. */
+    public void setCellSize(int cell) {
+        board.setZoom(cell / (float) BASE_CELL);
+    }
+
+    public void start() {
+        clock.start();
+    }
+
+    public void setStepMs(int ms) {
+        clock.setDelay(ms);
+    }
+
+    /** One animation step for every table; the clock calls this, the benchmark calls it directly. */
+    void tick() {
+        for (int i = 0; i < tables.size(); i++) tables.get(i).tick();
+    }
+
+    void sound(String wav) {
+        mixer.play(wav);
+    }
+
+    public void shutdown() {
+        clock.stop();
+        for (TableView t : tables) t.close();
+        compute.shutdownNow();
+        mixer.shutdown();
+    }
+}
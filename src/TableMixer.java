@@ -0,0 +1,141 @@
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * The one audio output of the multi-table window. Clips are decoded once to 16-bit mono PCM and a
+ * single mixer thread sums the ones playing into one SourceDataLine, so 50 tables rolling at once
+ * are 50 voices in one stream, not 50 lines. At most MAX_VOICES play together; a new one cuts the
+ * oldest. Clips are looked up as files in the working directory, then on the classpath; without
+ * the file or without a sound device it stays silent.
+ */
+public class TableMixer {
+
+    static final AudioFormat FORMAT = new AudioFormat(22050f, 16, 1, true, false);
+    static final int MAX_VOICES = 4;
+    static final int BLOCK = 441; // samples per write, 20 ms
+
+    private static final short[] SILENT = new short[0];
+
+    /** One clip playing: samples shared with the cache, pos = next sample. */
+    static final class Voice {
+        final short[] samples;
+        int pos;
+
+        Voice(short[] samples) {
+            this.samples = samples;
+        }
+    }
+
+    private final LinkedBlockingQueue<Object> requests = new LinkedBlockingQueue<>(); // String name or short[]
+    private final Map<String, short[]> clips = new HashMap<>(); // mixer thread only
+    private final List<Voice> voices = new ArrayList<>();       // mixer thread only
+    private Thread thread;
+    private volatile boolean running = true;
+
+    /** Never blocks: decoding, mixing and output all happen on the mixer thread. */
+    public void play(String wav) {
+        request(wav);
+    }
+
+    /** Already decoded samples in FORMAT. */
+    void play(short[] samples) {
+        request(samples);
+    }
+
+    private synchronized void request(Object clip) {
+        if (!running) return;
+        if (thread == null) {
+            thread = new Thread(this::run, "table-mixer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        requests.add(clip);
+    }
+
+    public synchronized void shutdown() {
+        running = false;
+        if (thread != null) thread.interrupt();
+    }
+
+    private void run() {
+        SourceDataLine line;
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, BLOCK * 2 * 4);
+            line.start();
+        } catch (Exception e) { // no device, no permission, unsupported format: stay silent
+            requests.clear();
+            return;
+        }
+        short[] mixed = new short[BLOCK];
+        byte[] out = new byte[BLOCK * 2];
+        try {
+            while (running) {
+                if (voices.isEmpty()) accept(requests.take()); // idle: wait, no busy loop
+                for (Object r; (r = requests.poll()) != null; ) accept(r);
+                if (voices.isEmpty()) continue;
+
+                mix(voices, mixed);
+                for (int i = 0; i < BLOCK; i++) {
+                    out[2 * i] = (byte) mixed[i];
+                    out[2 * i + 1] = (byte) (mixed[i] >> 8);
+                }
+                line.write(out, 0, out.length); // blocks at the line's pace
+            }
+        } catch (InterruptedException e) {
+            // shutdown
+        } finally {
+            line.close();
+        }
+    }
+
+    private void accept(Object request) {
+        short[] samples = request instanceof short[] ? (short[]) request
+                : clips.computeIfAbsent((String) request, TableMixer::load);
+        if (samples.length == 0) return;
+        if (voices.size() == MAX_VOICES) voices.remove(0);
+        voices.add(new Voice(samples));
+    }
+
+    /** Sums the next out.length samples of every voice (clamped), drops the voices that ended. */
+    static void mix(List<Voice> voices, short[] out) {
+        int[] sum = new int[out.length];
+        for (int v = voices.size() - 1; v >= 0; v--) {
+            Voice voice = voices.get(v);
+            int n = Math.min(out.length, voice.samples.length - voice.pos);
+            for (int i = 0; i < n; i++) sum[i] += voice.samples[voice.pos + i];
+            voice.pos += n;
+            if (voice.pos == voice.samples.length) voices.remove(v);
+        }
+        for (int i = 0; i < out.length; i++) out[i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sum[i]));
+    }
+
+    /** The clip in FORMAT, or an empty array if it cannot be found or converted. */
+    static short[] load(String name) {
+        try {
+            File file = new File(name);
+            InputStream res = file.isFile() ? null : TableMixer.class.getResourceAsStream("/" + name);
+            if (!file.isFile() && res == null) return SILENT;
+            try (AudioInputStream src = file.isFile() ? AudioSystem.getAudioInputStream(file)
+                    : AudioSystem.getAudioInputStream(new BufferedInputStream(res));
+                 AudioInputStream pcm = AudioSystem.getAudioInputStream(FORMAT, src)) {
+                byte[] b = pcm.readAllBytes();
+                short[] s = new short[b.length / 2];
+                for (int i = 0; i < s.length; i++) s[i] = (short) ((b[2 * i] & 0xff) | (b[2 * i + 1] << 8));
+                return s;
+            }
+        } catch (Exception e) { // unreadable or unsupported wav
+            return SILENT;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+import org.example.RandomLink;
+import org.example.TurnPipeline;
+import org.example.UiCache;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One table of the multi-table window: a single lightweight component (no child components) that
+ * holds one game in primitive arrays and paints itself through the hub's shared board renderer.
+ * Same rules as GameUI: green = CompiledRules.forward, red = back along the steps stack, double
+ * turn on isDoubleTurn. Dice and new boards are worked out on the hub's compute thread; the hub's
+ * clock moves the token one node per tick. Click to roll, or let it play by itself (auto).
+ */
+public class TableView extends JComponent {
+
+    static final int HEADER = 18;
+    static final int FINISH_TICKS = 12; // auto mode: ticks the winner stays on screen before a new game
+
+
+    /** A roll worked out on the compute thread. path = nodes entered (green) or revisited (red). */
+    private static final class Move {
+        final boolean green;
+        final int[] path;
+
+        Move(boolean green, int[] path) {
+            this.green = green;
+            this.path = path;
+        }
+    }
+
+    /** A new board, built on the compute thread. */
+    private static final class Board {
+        final CompiledRules rules;
+        final List<RandomLink> links;
+
+        Board(CompiledRules rules, List<RandomLink> links) {
+            this.rules = rules;
+            this.links = links;
+        }
+    }
+
+    public final String name;
+    private final TableHub hub;
+    private final TurnPipeline pipeline;
+    private final DiceSource dice;   // compute thread only
+    private final Color[] colors;
+    private boolean auto;
+
+    private CompiledRules rules;     // null while a new board is being built
+    private List<RandomLink> links = List.of();
+    private final int[] position;
+    private final int[][] steps;
+    private final int[] stepsSize;
+    private final ArrayDeque<Integer> queue = new ArrayDeque<>();
+    private int current = -1, winner = -1, turnNo, games;
+    private boolean planning;
+
+    // token on the move: path != null
+    private int[] path;
+    private int pathIndex;
+    private boolean green;
+    private int finishTicks;
+
+    public TableView(TableHub hub, String name, int players, long seed, boolean auto) {
+        this.hub = hub;
+        this.name = name;
+        this.auto = auto;
+        this.pipeline = new TurnPipeline(hub.compute);
+        this.dice = new DiceSource(seed, RuleConfig.DEFAULT.greenOdds);
+        this.colors = new Color[players];
+        for (int i = 0; i < players; i++) colors[i] = UiCache.seatColor(i);
+        this.position = new int[players];
+        this.steps = new int[players][16];
+        this.stepsSize = new int[players];
+        setOpaque(true);
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (winner >= 0) newGame();
+                else roll();
+            }
+        });
+        newGame();
+    }
+
+    public void setAuto(boolean auto) {
+        this.auto = auto;
+    }
+
+    public boolean isReady() {
+        return rules != null;
+    }
+
+    public int games() {
+        return games;
+    }
+
+    public void newGame() {
+        pipeline.cancel();
+        rules = null;
+        path = null;
+        planning = false;
+        finishTicks = 0;
+        pipeline.submit(() -> {
+            BoardGraph graph = new BoardGraph();
+            List<RandomLink> l = new ArrayList<>();
+            for (int[] link : graph.randomLinks) l.add(new RandomLink(Math.min(link[0], link[1]), Math.max(link[0], link[1]), true));
+            return new Board(RuleConfig.DEFAULT.compile(graph), l);
+        }, board -> {
+            rules = board.rules;
+            links = board.links;
+            queue.clear();
+            for (int p = 0; p < position.length; p++) {
+                position[p] = 1;
+                steps[p][0] = 1;
+                stepsSize[p] = 1;
+                queue.addLast(p);
+            }
+            current = -1;
+            winner = -1;
+            turnNo = 0;
+            repaint();
+        }, ex -> rules = null);
+    }
+
+    private void roll() {
+        if (rules == null || planning || path != null || winner >= 0) return;
+        int p = queue.pollFirst();
+        current = p;
+        int start = position[p];
+        int[] history = Arrays.copyOf(steps[p], stepsSize[p]);
+        CompiledRules r = rules;
+        planning = true;
+        pipeline.submit(() -> plan(r, start, history), this::beginMove, ex -> {
+            planning = false;
+            queue.addFirst(p);
+        });
+    }
+
+    private Move plan(CompiledRules r, int start, int[] history) {
+        dice.setGreenOdds(r.greenOdds);
+        int roll = dice.next();
+        int value = DiceSource.value(roll);
+        if (DiceSource.green(roll)) return new Move(true, r.forward(start, value));
+        int n = Math.min(value, history.length - 1);
+        int[] back = new int[n];
+        for (int i = 0; i < n; i++) back[i] = history[history.length - 2 - i];
+        return new Move(false, back);
+    }
+
+    private void beginMove(Move m) {
+        planning = false;
+        turnNo++;
+        green = m.green;
+        path = m.path;
+        pathIndex = 0;
+        hub.sound(green ? "yeay.wav" : "yaaah.wav");
+        if (path.length == 0) {
+            path = null;
+            endTurn();
+        }
+        repaint();
+    }
+
+    /** One clock step; true if anything changed (and a repaint was requested). */
+    boolean tick() {
+        if (finishTicks > 0) {
+            if (--finishTicks == 0 && auto) newGame();
+            return false;
+        }
+        if (path == null) {
+            if (auto && winner < 0) roll();
+            return false;
+        }
+
+        int p = current;
+        int node = path[pathIndex++];
+        if (green) {
+            if (stepsSize[p] == steps[p].length) steps[p] = Arrays.copyOf(steps[p], stepsSize[p] * 2);
+            steps[p][stepsSize[p]++] = node;
+        } else if (stepsSize[p] > 1) {
+            stepsSize[p]--;
+        }
+        position[p] = green ? node : steps[p][stepsSize[p] - 1];
+
+        if (position[p] >= rules.target) {
+            winner = p;
+            games++;
+            path = null;
+            finishTicks = FINISH_TICKS;
+        } else if (pathIndex == path.length) {
+            path = null;
+            endTurn();
+        }
+        repaint();
+        return true;
+    }
+
+    private void endTurn() {
+        if (rules.isDoubleTurn(position[current])) queue.addFirst(current);
+        else queue.addLast(current);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        Dimension d = hub.board.getPreferredSize();
+        return new Dimension(d.width, d.height + HEADER);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setColor(winner >= 0 ? UiCache.color(255, 236, 179) : UiCache.color(236, 239, 241));
+            g2.fillRect(0, 0, getWidth(), HEADER);
+            g2.setColor(UiCache.color(38, 50, 56));
+            g2.setFont(UiCache.font("Segoe UI", Font.BOLD, 11));
+            String status = rules == null ? "papan baru..."
+                    : winner >= 0 ? "MENANG: P" + (winner + 1)
+                    : "giliran " + turnNo + (current >= 0 ? " (P" + (current + 1) + ")" : "");
+            g2.drawString(name + "  " + status + "  game " + games, 4, HEADER - 5);
+
+            g2.translate(0, HEADER);
+            Rectangle clip = g2.getClipBounds();
+            hub.board.paint(g2, clip);
+            if (rules == null) return;
+            hub.board.paintLinks(g2, clip, links);
+            hub.board.paintTokens(g2, clip, position, colors, path != null ? current : -1);
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    void close() {
+        pipeline.shutdown();
+    }
+}
@@ -0,0 +1,63 @@
+package org.example;
+
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** LRU cache of rendered board tiles, keyed by zoom level, board version and tile coordinates. EDT only. */
+public class TileCache {
+
+    private final int maxTiles;
+    private final LinkedHashMap<Key, BufferedImage> tiles;
+
+    public TileCache(int maxTiles) {
+        this.maxTiles = maxTiles;
+        this.tiles = new LinkedHashMap<>(maxTiles * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, BufferedImage> eldest) {
+                if (size() <= TileCache.this.maxTiles) return false;
+                eldest.getValue().flush();
+                return true;
+            }
+        };
+    }
+
+    public BufferedImage get(float zoom, int version, int tx, int ty) {
+        return tiles.get(new Key(zoom, version, tx, ty));
+    }
+
+    public void put(float zoom, int version, int tx, int ty, BufferedImage tile) {
+        tiles.put(new Key(zoom, version, tx, ty), tile);
+    }
+
+    public int size() {
+        return tiles.size();
+    }
+
+    public void clear() {
+        tiles.clear();
+    }
+
+    private static final class Key {
+        final int zoomBits, version, tx, ty;
+
+        Key(float zoom, int version, int tx, int ty) {
+            this.zoomBits = Float.floatToIntBits(zoom);
+            this.version = version;
+            this.tx = tx;
+            this.ty = ty;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return zoomBits == k.zoomBits && version == k.version && tx == k.tx && ty == k.ty;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((zoomBits * 31 + version) * 31 + tx) * 31 + ty;
+        }
+    }
+}
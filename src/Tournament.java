@@ -0,0 +1,233 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Knock-out tournament on one board: entrants are split into tables of `tableSize`, every table
+ * plays `bestOf` HeadlessGames and its winner advances to the next round.
+ *
+ * Matches run on a work-stealing ForkJoinPool. There is no barrier between rounds: each match is a
+ * CompletableFuture that starts as soon as the matches feeding it are done, so a fast corner of the
+ * bracket can be two rounds ahead of a slow one. Dice seeds depend only on (seed, round, table, game),
+ * so the result is the same for any thread count.
+ *
+ * Usage: --tournament [--entrants N | --roster file] [--table 4] [--best-of 3] [--seed S]
+ *                     [--board-seed S] [--threads T] [--quiet]
+ */
+public class Tournament {
+
+    public static final String USAGE = "usage: --tournament [--entrants N | --roster file] [--table 4] [--best-of 3]"
+            + " [--seed S] [--board-seed S] [--threads T] [--quiet]";
+
+    /** Tie after bestOf games -> up to this many extra games, then the earlier entrant goes through. */
+    private static final int MAX_TIEBREAK_GAMES = 5;
+
+    public static class Match {
+        public final int round;     // 1-based
+        public final int table;
+        public final List<String> entrants = new ArrayList<>();
+        public int[] wins;
+        public int games;
+        public String winner;
+
+        Match(int round, int table) {
+            this.round = round;
+            this.table = table;
+        }
+    }
+
+    private final BoardGraph board;
+    private final int tableSize;
+    private final int bestOf;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    private final List<List<Match>> rounds = new ArrayList<>();
+    private final LongAdder gamesPlayed = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    public Tournament(BoardGraph board, int tableSize, int bestOf, long seed, ForkJoinPool pool) {
+        if (tableSize < 2 || tableSize > 6) throw new IllegalArgumentException("table size must be 2..6");
+        if (bestOf < 1) throw new IllegalArgumentException("best-of must be >= 1");
+        this.board = board;
+        this.tableSize = tableSize;
+        this.bestOf = bestOf;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /** Builds the whole bracket and returns the champion's future; matches start immediately. */
+    public CompletableFuture<String> start(List<String> roster) {
+        if (roster.isEmpty()) throw new IllegalArgumentException("empty roster");
+        rounds.clear();
+
+        List<CompletableFuture<String>> current = new ArrayList<>(roster.size());
+        for (String name : roster) current.add(CompletableFuture.completedFuture(name));
+
+        int round = 1;
+        while (current.size() > 1) {
+            List<Match> matches = new ArrayList<>();
+            List<CompletableFuture<String>> next = new ArrayList<>();
+            for (int from = 0; from < current.size(); from += tableSize) {
+                List<CompletableFuture<String>> inputs = current.subList(from, Math.min(from + tableSize, current.size()));
+                Match m = new Match(round, matches.size());
+                matches.add(m);
+                CompletableFuture<?>[] deps = inputs.toArray(new CompletableFuture<?>[0]);
+                next.add(CompletableFuture.allOf(deps).thenApplyAsync(v -> {
+                    for (CompletableFuture<?> f : deps) m.entrants.add((String) f.join());
+                    return play(m);
+                }, pool));
+            }
+            rounds.add(matches);
+            current = next;
+            round++;
+        }
+        return current.get(0);
+    }
+
+    public List<List<Match>> rounds() {
+        return rounds;
+    }
+
+    public long gamesPlayed() {
+        return gamesPlayed.sum();
+    }
+
+    /** CPU time spent inside matches, summed over pool threads. */
+    public long cpuNanos() {
+        return cpuNanos.sum();
+    }
+
+    private String play(Match m) {
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        int n = m.entrants.size();
+        m.wins = new int[n];
+        if (n == 1) { // bye
+            m.winner = m.entrants.get(0);
+            return m.winner;
+        }
+
+        HeadlessGame game = new HeadlessGame(board, n);
+        SplittableRandom seeds = new SplittableRandom(seed ^ ((long) m.round << 48) ^ ((long) m.table << 16));
+        int best = 0;
+        boolean tied = true;
+        while (m.games < bestOf || (tied && m.games < bestOf + MAX_TIEBREAK_GAMES)) {
+            // rotate seats so nobody always moves first: seat s is entrant (s + shift) % n
+            int shift = m.games % n;
+            GameResult r = game.play(seeds.nextLong());
+            m.games++;
+            if (r.winner >= 0) m.wins[(r.winner + shift) % n]++;
+
+            best = 0;
+            tied = false;
+            for (int i = 1; i < n; i++) {
+                if (m.wins[i] > m.wins[best]) {
+                    best = i;
+                    tied = false;
+                } else if (m.wins[i] == m.wins[best]) {
+                    tied = true;
+                }
+            }
+        }
+        m.winner = m.entrants.get(best);
+        gamesPlayed.add(m.games);
+        if (cpuStart >= 0) cpuNanos.add(threads.getCurrentThreadCpuTime() - cpuStart);
+        return m.winner;
+    }
+
+    public static int run(String[] args) {
+        int entrants = 64;
+        String rosterFile = null;
+        int table = 4, bestOf = 3;
+        int threadCount = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        long boardSeed = 1;
+        boolean quiet = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String a = args[i];
+                if (a.equals("--quiet")) {
+                    quiet = true;
+                    continue;
+                }
+                if (i + 1 >= args.length) throw new IllegalArgumentException("missing value for " + a);
+                String v = args[++i];
+                switch (a) {
+                    case "--entrants": entrants = Integer.parseInt(v); break;
+                    case "--roster": rosterFile = v; break;
+                    case "--table": table = Integer.parseInt(v); break;
+                    case "--best-of": bestOf = Integer.parseInt(v); break;
+                    case "--seed": seed = Long.parseLong(v); break;
+                    case "--board-seed": boardSeed = Long.parseLong(v); break;
+                    case "--threads": threadCount = Integer.parseInt(v); break;
+                    default: throw new IllegalArgumentException("unknown option " + a);
+                }
+            }
+            if (threadCount < 1) throw new IllegalArgumentException("threads must be >= 1");
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        List<String> roster = new ArrayList<>();
+        if (rosterFile != null) {
+            try {
+                for (String line : Files.readAllLines(Path.of(rosterFile))) {
+                    if (!line.isBlank()) roster.add(line.trim());
+                }
+            } catch (IOException e) {
+                System.err.println("cannot read roster: " + e.getMessage());
+                return 1;
+            }
+        } else {
+            for (int i = 1; i <= entrants; i++) roster.add("Player " + i);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threadCount);
+        try {
+            Tournament t = new Tournament(new BoardGraph(new Random(boardSeed)), table, bestOf, seed, pool);
+            long start = System.nanoTime();
+            String champion = t.start(roster).join();
+            long wall = System.nanoTime() - start;
+
+            if (!quiet) {
+                for (List<Match> round : t.rounds()) {
+                    for (Match m : round) {
+                        StringBuilder sb = new StringBuilder("R" + m.round + " #" + (m.table + 1) + ":");
+                        for (int i = 0; i < m.entrants.size(); i++) {
+                            sb.append(i == 0 ? " " : ", ").append(m.entrants.get(i)).append(" (").append(m.wins[i]).append(')');
+                        }
+                        System.out.println(sb.append(" -> ").append(m.winner));
+                    }
+                }
+            }
+            double seconds = wall / 1e9;
+            System.out.println("champion: " + champion);
+            System.out.printf("%d entrants, %d rounds, %d games in %.3f s: %.0f games/s on %d threads%n",
+                    roster.size(), t.rounds().size(), t.gamesPlayed(), seconds, t.gamesPlayed() / seconds, threadCount);
+            System.out.printf("core utilization %.0f%% (match CPU time / wall time / threads), %d steals%n",
+                    100.0 * t.cpuNanos() / wall / threadCount, pool.getStealCount());
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return 2;
+        } catch (CompletionException e) { // a match threw
+            System.err.println("tournament failed: " + e.getCause());
+            return 1;
+        } finally {
+            pool.shutdown();
+        }
+        return 0;
+    }
+}
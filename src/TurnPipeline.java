@@ -0,0 +1,74 @@
+package org.example;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Resolves turns off the EDT. Work runs on one background thread, so turns are computed in the
+ * order they were submitted, and each finished plan is handed to the EDT with invokeLater, which
+ * keeps that order. cancel() (new board / reset) drops everything submitted before it, whether it
+ * is still computing or already queued on the EDT.
+ *
+ * Plans are computed from values captured on the EDT at submit time, never from live UI state.
+ */
+public class TurnPipeline {
+
+    private final ExecutorService worker;
+    private final boolean ownsWorker;
+    private final AtomicInteger epoch = new AtomicInteger();
+
+    public TurnPipeline() {
+        this(Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "turn-compute");
+            t.setDaemon(true);
+            return t;
+        }), true);
+    }
+
+    /**
+     * Shares `worker` with other pipelines (one per table in multi-table mode). It must be
+     * single-threaded, or turns of one pipeline could finish out of order. cancel() only affects
+     * this pipeline; shutdown() leaves a shared worker running.
+     */
+    public TurnPipeline(ExecutorService worker) {
+        this(worker, false);
+    }
+
+    private TurnPipeline(ExecutorService worker, boolean ownsWorker) {
+        this.worker = worker;
+        this.ownsWorker = ownsWorker;
+    }
+
+    /** compute runs on the turn thread; apply (or onError) runs on the EDT unless cancelled meanwhile. */
+    public <T> void submit(Callable<T> compute, Consumer<T> apply, Consumer<Exception> onError) {
+        int e = epoch.get();
+        worker.execute(() -> {
+            if (epoch.get() != e) return;
+            T plan;
+            try {
+                plan = compute.call();
+            } catch (Exception ex) {
+                SwingUtilities.invokeLater(() -> {
+                    if (epoch.get() == e) onError.accept(ex);
+                });
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (epoch.get() == e) apply.accept(plan);
+            });
+        });
+    }
+
+    public void cancel() {
+        epoch.incrementAndGet();
+    }
+
+    public void shutdown() {
+        cancel();
+        if (ownsWorker) worker.shutdownNow();
+    }
+}
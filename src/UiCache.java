@@ -0,0 +1,39 @@
+package org.example;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fonts and colors are looked up once and shared. new Font("Segoe UI", ...) goes through the
+ * font manager every time, which is a noticeable part of startup when done a dozen times.
+ * EDT only.
+ */
+public final class UiCache {
+
+    // seat colors, one per player seat (up to 6); Colors are immutable, so safe off the EDT too
+    private static final Color[] SEAT_COLORS = {
+            new Color(0x1f77b4), new Color(0xff7f0e), new Color(0x2ca02c),
+            new Color(0xd62728), new Color(0x9467bd), new Color(0x8c564b)
+    };
+
+    private static final Map<String, Font> FONTS = new HashMap<>();
+    private static final Map<Integer, Color> COLORS = new HashMap<>();
+
+    private UiCache() {
+    }
+
+    public static Font font(String name, int style, int size) {
+        return FONTS.computeIfAbsent(name + '|' + style + '|' + size, k -> new Font(name, style, size));
+    }
+
+    public static Color color(int r, int g, int b) {
+        return COLORS.computeIfAbsent((r << 16) | (g << 8) | b, Color::new);
+    }
+
+    /** Token color of a seat; wraps around after six seats. */
+    public static Color seatColor(int seat) {
+        return SEAT_COLORS[seat % SEAT_COLORS.length];
+    }
+}
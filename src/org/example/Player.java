@@ -0,0 +1,39 @@
+package org.example;
+
+import java.awt.Color;
+
+/**
+ * A seat in org.example.GameUI: name, token color and the node it stands on (1..64).
+ * Lives under org/example/ because src/Player.java is the default-package player of the classic UI.
+ */
+public class Player {
+    private final String name;
+    private final Color color;
+    private int position = 1;
+
+    public Player(String name, Color color) {
+        this.name = name;
+        this.color = color;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + position + ")";
+    }
+}